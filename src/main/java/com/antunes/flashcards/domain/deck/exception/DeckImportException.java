@@ -0,0 +1,11 @@
+package com.antunes.flashcards.domain.deck.exception;
+
+public class DeckImportException extends RuntimeException {
+  public DeckImportException(String message) {
+    super(message);
+  }
+
+  public DeckImportException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
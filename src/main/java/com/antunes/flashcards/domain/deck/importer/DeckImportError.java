@@ -0,0 +1,3 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+public record DeckImportError(long line, String reason) {}
@@ -0,0 +1,18 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+public enum DeckImportFormat {
+  CSV(','),
+  TSV('\t'),
+  /** Anki "Notes in Plain Text" export: tab separated, with optional {@code #key:value} headers. */
+  ANKI('\t');
+
+  private final char separator;
+
+  DeckImportFormat(char separator) {
+    this.separator = separator;
+  }
+
+  public char separator() {
+    return separator;
+  }
+}
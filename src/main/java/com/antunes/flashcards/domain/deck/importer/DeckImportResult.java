@@ -0,0 +1,7 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import java.util.List;
+
+/** Outcome of an import. Only the first rejected rows are listed in {@code errors}. */
+public record DeckImportResult(
+    Long deckId, long rowsRead, long imported, long rejected, List<DeckImportError> errors) {}
@@ -0,0 +1,243 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import com.antunes.flashcards.domain.deck.exception.DeckImportException;
+import com.antunes.flashcards.domain.deck.model.Deck;
+import com.antunes.flashcards.domain.deck.repository.DeckRepository;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
+import com.antunes.flashcards.domain.flashcard.validation.FlashcardValidator;
+import com.antunes.flashcards.domain.user.model.User;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports a deck from a CSV, TSV or Anki plain-text file without loading it whole. Rows are read
+ * one at a time, checked with the {@link FlashcardValidator} rules and written in batches, each in
+ * its own transaction, with consecutive deck positions. Rejected rows are counted and skipped. The
+ * first {@value #MAX_REPORTED_ERRORS} of them are reported with their line numbers. Memory is
+ * bounded by the batch size and the maximum record length, whatever the size of the file.
+ *
+ * <p>The first two columns are the question and the answer, and extra columns are ignored. CSV and
+ * TSV files have no header row. Anki files may start with {@code #separator:}, {@code #notetype
+ * column:}, {@code #deck column:}, {@code #guid column:} and {@code #tags column:} headers, which
+ * select the separator and the columns to skip.
+ */
+@Service
+public class DeckImportService {
+  static final int MAX_REPORTED_ERRORS = 100;
+  private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+  private final DeckRepository deckRepository;
+  private final DeckImportWriter deckImportWriter;
+  private final int batchSize;
+
+  public DeckImportService(
+      DeckRepository deckRepository,
+      DeckImportWriter deckImportWriter,
+      @Value("${spring.decks.import.batch-size:500}") int batchSize) {
+    this.deckRepository = deckRepository;
+    this.deckImportWriter = deckImportWriter;
+    this.batchSize = batchSize;
+  }
+
+  public DeckImportResult importDeck(
+      User owner, String title, InputStream input, DeckImportFormat format) {
+    return importDeck(owner, title, input, format, progress -> {});
+  }
+
+  /**
+   * Creates a deck and fills it from {@code input}, reporting progress after every batch. The deck
+   * is only created once the headers are read, and a failed import deletes it together with the
+   * cards it already received.
+   */
+  public DeckImportResult importDeck(
+      User owner,
+      String title,
+      InputStream input,
+      DeckImportFormat format,
+      Consumer<DeckImportProgress> progressListener) {
+    Deck deck = Deck.create(title, owner);
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      skipByteOrderMark(reader);
+      Columns columns = format == DeckImportFormat.ANKI ? readAnkiHeaders(reader) : null;
+      char separator = columns != null ? columns.separator() : format.separator();
+      DelimitedRecordReader records =
+          new DelimitedRecordReader(reader, separator, MAX_RECORD_CHARS);
+      int question = columns != null ? columns.question() : 0;
+      int answer = columns != null ? columns.answer() : 1;
+      Long deckId = deckRepository.save(deck).getId();
+      Import run = new Import(deckId, owner, progressListener);
+      try {
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+          run.accept(fields, records, question, answer);
+        }
+        run.flush();
+      } catch (IOException | RuntimeException e) {
+        discard(deckId, e);
+        throw e;
+      }
+      return run.result();
+    } catch (IOException e) {
+      throw new DeckImportException("Could not read deck file", e);
+    }
+  }
+
+  private void discard(Long deckId, Exception cause) {
+    try {
+      // One transaction per batch, so locks are held for one batch at a time. The deck goes last,
+      // so a discard that fails halfway leaves a deck whose remaining cards can still be found.
+      int discarded;
+      do {
+        discarded = deckImportWriter.discardBatch(deckId, batchSize);
+      } while (discarded == batchSize);
+      deckImportWriter.deleteDeck(deckId);
+    } catch (RuntimeException e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  private final class Import {
+    private final Long deckId;
+    private final User owner;
+    private final Consumer<DeckImportProgress> progressListener;
+    private final List<FlashcardDraft> batch = new ArrayList<>();
+    private final List<DeckImportError> errors = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+
+    Import(Long deckId, User owner, Consumer<DeckImportProgress> progressListener) {
+      this.deckId = deckId;
+      this.owner = owner;
+      this.progressListener = progressListener;
+    }
+
+    void accept(List<String> fields, DelimitedRecordReader records, int question, int answer) {
+      rowsRead++;
+      if (records.isTruncated()) {
+        reject(records.recordLine(), "Row is longer than " + MAX_RECORD_CHARS + " characters");
+        return;
+      }
+      if (fields.size() <= Math.max(question, answer)) {
+        reject(records.recordLine(), "Row needs a question and an answer");
+        return;
+      }
+      String questionText = fields.get(question).strip();
+      String answerText = fields.get(answer).strip();
+      if (!FlashcardValidator.isValid(questionText, answerText)) {
+        reject(
+            records.recordLine(),
+            "Question and answer must not be blank or longer than "
+                + FlashcardValidator.MAX_LENGTH
+                + " characters");
+        return;
+      }
+      batch.add(new FlashcardDraft(questionText, answerText));
+      if (batch.size() >= batchSize) {
+        flush();
+      }
+    }
+
+    void reject(long line, String reason) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new DeckImportError(line, reason));
+      }
+    }
+
+    void flush() {
+      if (!batch.isEmpty()) {
+        deckImportWriter.write(deckId, owner, batch, Math.toIntExact(imported));
+        imported += batch.size();
+        batch.clear();
+      }
+      progressListener.accept(new DeckImportProgress(rowsRead, imported, rejected));
+    }
+
+    DeckImportResult result() {
+      return new DeckImportResult(deckId, rowsRead, imported, rejected, List.copyOf(errors));
+    }
+  }
+
+  private record Columns(char separator, int question, int answer) {}
+
+  private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+    reader.mark(1);
+    if (reader.read() != '\uFEFF') {
+      reader.reset();
+    }
+  }
+
+  private static Columns readAnkiHeaders(BufferedReader reader) throws IOException {
+    char separator = DeckImportFormat.ANKI.separator();
+    Set<Integer> skipped = new HashSet<>();
+    while (true) {
+      // Peek at one character only, so a long first row does not outrun the mark.
+      reader.mark(1);
+      int first = reader.read();
+      reader.reset();
+      if (first != '#') {
+        break;
+      }
+      String line = reader.readLine();
+      int colon = line.indexOf(':');
+      if (colon < 0) {
+        continue;
+      }
+      String key = line.substring(1, colon).strip().toLowerCase();
+      String value = line.substring(colon + 1).strip();
+      switch (key) {
+        case "separator" -> separator = ankiSeparator(value);
+        case "notetype column", "deck column", "guid column", "tags column" ->
+            skipped.add(ankiColumn(value));
+        default -> {}
+      }
+    }
+    int question = 0;
+    while (skipped.contains(question)) {
+      question++;
+    }
+    int answer = question + 1;
+    while (skipped.contains(answer)) {
+      answer++;
+    }
+    return new Columns(separator, question, answer);
+  }
+
+  private static char ankiSeparator(String value) {
+    return switch (value.toLowerCase()) {
+      case "tab" -> '\t';
+      case "comma" -> ',';
+      case "semicolon" -> ';';
+      case "pipe" -> '|';
+      case "colon" -> ':';
+      case "space" -> ' ';
+      default -> {
+        if (value.length() != 1) {
+          throw new DeckImportException("Unsupported separator: " + value);
+        }
+        yield value.charAt(0);
+      }
+    };
+  }
+
+  // Anki numbers columns from 1.
+  private static int ankiColumn(String value) {
+    try {
+      return Integer.parseInt(value) - 1;
+    } catch (NumberFormatException e) {
+      throw new DeckImportException("Invalid column header: " + value);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import com.antunes.flashcards.domain.deck.model.Deck;
+import com.antunes.flashcards.domain.deck.model.DeckFlashcard;
+import com.antunes.flashcards.domain.flashcard.model.Flashcard;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
+import com.antunes.flashcards.domain.flashcard.service.FlashcardService;
+import com.antunes.flashcards.domain.user.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/** Writes one batch of imported cards and their deck links in its own transaction. */
+@Component
+public class DeckImportWriter {
+  private final FlashcardService flashcardService;
+
+  @PersistenceContext EntityManager entityManager;
+
+  public DeckImportWriter(FlashcardService flashcardService) {
+    this.flashcardService = flashcardService;
+  }
+
+  @Transactional
+  public void write(Long deckId, User owner, List<FlashcardDraft> drafts, int firstPosition) {
+    List<Long> ids = flashcardService.createFlashcards(owner, drafts);
+    Deck deck = entityManager.getReference(Deck.class, deckId);
+    for (int i = 0; i < ids.size(); i++) {
+      Flashcard flashcard = entityManager.getReference(Flashcard.class, ids.get(i));
+      entityManager.persist(DeckFlashcard.link(deck, flashcard, firstPosition + i));
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Deletes up to {@code batchSize} of the cards linked to a deck whose import failed, with their
+   * links, and returns how many it deleted. Each call is its own transaction, like {@link #write}.
+   */
+  @Transactional
+  public int discardBatch(Long deckId, int batchSize) {
+    List<Long> ids =
+        entityManager
+            .createQuery(
+                "SELECT l.flashcard.id FROM DeckFlashcard l WHERE l.deck.id = :deckId", Long.class)
+            .setParameter("deckId", deckId)
+            .setMaxResults(batchSize)
+            .getResultList();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    entityManager
+        .createQuery("DELETE FROM DeckFlashcard l WHERE l.flashcard.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+    entityManager
+        .createQuery("DELETE FROM Flashcard f WHERE f.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+    return ids.size();
+  }
+
+  /** Deletes a deck whose cards have all been discarded. */
+  @Transactional
+  public void deleteDeck(Long deckId) {
+    entityManager
+        .createQuery("DELETE FROM Deck d WHERE d.id = :deckId")
+        .setParameter("deckId", deckId)
+        .executeUpdate();
+  }
+}
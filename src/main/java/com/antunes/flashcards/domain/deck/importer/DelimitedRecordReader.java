@@ -0,0 +1,122 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads delimited records one at a time, RFC 4180 style: fields may be quoted, quotes inside them
+ * are doubled, and quoted fields may span lines. Blank lines are skipped. A record longer than
+ * {@code maxRecordChars} is still consumed to its end, but its content is dropped and it is flagged
+ * as truncated, so memory stays bounded even when a stray quote swallows the rest of the input.
+ */
+class DelimitedRecordReader {
+  private static final int NONE = -2;
+
+  private final Reader reader;
+  private final char separator;
+  private final int maxRecordChars;
+  private long line = 1;
+  private long recordLine;
+  private boolean truncated;
+  private int pushedBack = NONE;
+
+  DelimitedRecordReader(Reader reader, char separator, int maxRecordChars) {
+    this.reader = reader;
+    this.separator = separator;
+    this.maxRecordChars = maxRecordChars;
+  }
+
+  /** The fields of the next record, or null at the end of the input. */
+  List<String> next() throws IOException {
+    int c = read();
+    while (c == '\n' || c == '\r') {
+      c = read();
+    }
+    if (c == -1) {
+      return null;
+    }
+    recordLine = line;
+    truncated = false;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    int consumed = 0;
+    boolean quoted = false;
+    boolean fieldStart = true;
+    while (c != -1) {
+      if (++consumed > maxRecordChars && !truncated) {
+        truncated = true;
+        fields.clear();
+        field.setLength(0);
+      }
+      if (quoted) {
+        if (c == '"') {
+          int next = read();
+          if (next != '"') {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        }
+        append(field, c);
+      } else if (c == '"' && fieldStart) {
+        quoted = true;
+        fieldStart = false;
+      } else if (c == separator) {
+        addField(fields, field);
+        fieldStart = true;
+      } else if (c == '\n' || c == '\r') {
+        if (c == '\r') {
+          int next = read();
+          if (next != '\n') {
+            pushedBack = next;
+          }
+        }
+        break;
+      } else {
+        append(field, c);
+        fieldStart = false;
+      }
+      c = read();
+    }
+    addField(fields, field);
+    return fields;
+  }
+
+  /** The line on which the last record returned by {@link #next()} started. */
+  long recordLine() {
+    return recordLine;
+  }
+
+  boolean isTruncated() {
+    return truncated;
+  }
+
+  private void append(StringBuilder field, int c) {
+    if (!truncated) {
+      field.append((char) c);
+    }
+  }
+
+  private void addField(List<String> fields, StringBuilder field) {
+    if (!truncated) {
+      fields.add(field.toString());
+    }
+    field.setLength(0);
+  }
+
+  private int read() throws IOException {
+    int c;
+    if (pushedBack != NONE) {
+      c = pushedBack;
+      pushedBack = NONE;
+      return c;
+    }
+    c = reader.read();
+    if (c == '\n') {
+      line++;
+    }
+    return c;
+  }
+}
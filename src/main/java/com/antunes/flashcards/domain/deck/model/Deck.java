@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 import lombok.Getter;
 
 @Entity
+@Table(indexes = @Index(name = "idx_deck_owner_id", columnList = "owner_id, id"))
 public class Deck {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
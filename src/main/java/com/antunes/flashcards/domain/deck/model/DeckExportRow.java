@@ -0,0 +1,13 @@
+package com.antunes.flashcards.domain.deck.model;
+
+/**
+ * One card of a deck as exported, read without loading entities. An empty deck yields a single row
+ * whose card columns are null.
+ */
+public record DeckExportRow(
+    Long deckId,
+    String title,
+    Integer position,
+    Long flashcardId,
+    String question,
+    String answer) {}
@@ -10,8 +10,13 @@ import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
 public class DeckFlashcard {
+  // Sequence ids let imports batch their link inserts, like flashcards.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deck_flashcard_seq")
+  @SequenceGenerator(
+      name = "deck_flashcard_seq",
+      sequenceName = "deck_flashcard_seq",
+      allocationSize = 500)
   @Getter
   private Long id;
 
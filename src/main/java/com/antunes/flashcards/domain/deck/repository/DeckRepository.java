@@ -1,14 +1,36 @@
 package com.antunes.flashcards.domain.deck.repository;
 
 import com.antunes.flashcards.domain.deck.model.Deck;
+import com.antunes.flashcards.domain.deck.model.DeckExportRow;
 import com.antunes.flashcards.domain.user.model.User;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DeckRepository extends JpaRepository<Deck, Long> {
   @EntityGraph(attributePaths = "owner")
   List<Deck> findByOwner(User owner);
+
+  @Query(
+      "SELECT d FROM Deck d JOIN FETCH d.owner o LEFT JOIN FETCH o.loginAttempt"
+          + " WHERE d.owner.id = :ownerId AND d.id > :afterId ORDER BY d.id")
+  List<Deck> findPageByOwner(
+      @Param("ownerId") Long ownerId, @Param("afterId") long afterId, Limit limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.antunes.flashcards.domain.deck.model.DeckExportRow(d.id, d.title,"
+          + " l.positionInDeck, f.id, f.question, f.answer)"
+          + " FROM Deck d LEFT JOIN d.flashcardLinks l LEFT JOIN l.flashcard f"
+          + " WHERE d.owner.id = :ownerId ORDER BY d.id, l.positionInDeck")
+  Stream<DeckExportRow> streamExportRows(@Param("ownerId") Long ownerId);
 }
@@ -7,8 +7,13 @@ import com.antunes.flashcards.domain.deck.repository.DeckRepository;
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardNotFoundException;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
 import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.pagination.KeysetPage;
+import com.antunes.flashcards.domain.pagination.PageCursor;
+import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
+import com.antunes.flashcards.domain.user.model.User;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +34,17 @@ public class DeckService {
     this.deckFlashcardRepository = deckFlashcardRepository;
   }
 
+  /** Lists the owner's decks by id, starting after {@code cursor} (null for the first page). */
+  public KeysetPage<Deck> listDecks(User owner, String cursor, int size) {
+    if (owner == null) {
+      throw new UserNotFoundException("User does not exist");
+    }
+    List<Deck> rows =
+        deckRepository.findPageByOwner(
+            owner.getId(), PageCursor.decode(cursor), PageCursor.limit(size));
+    return PageCursor.page(rows, size, Deck::getId);
+  }
+
   public void addFlashcardToDeck(Long deckId, Long flashcardId) {
     Deck deck =
         deckRepository
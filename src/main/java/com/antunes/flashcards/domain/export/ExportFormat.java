@@ -0,0 +1,8 @@
+package com.antunes.flashcards.domain.export;
+
+public enum ExportFormat {
+  /** RFC 4180 CSV with a header row. */
+  CSV,
+  /** One JSON object per line. */
+  JSON_LINES
+}
@@ -0,0 +1,109 @@
+package com.antunes.flashcards.domain.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import java.io.IOException;
+import java.io.Writer;
+
+/** Writes rows of named columns as CSV or JSON lines, holding one row at a time. */
+abstract class ExportWriter {
+  private static final JsonFactory JSON =
+      JsonFactory.builder()
+          .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+          .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+          .build();
+
+  protected final Writer writer;
+  protected final String[] columns;
+
+  private ExportWriter(Writer writer, String[] columns) {
+    this.writer = writer;
+    this.columns = columns;
+  }
+
+  static ExportWriter create(ExportFormat format, Writer writer, String... columns)
+      throws IOException {
+    return switch (format) {
+      case CSV -> new Csv(writer, columns);
+      case JSON_LINES -> new JsonLines(writer, columns);
+    };
+  }
+
+  abstract void write(Object... values) throws IOException;
+
+  void finish() throws IOException {
+    writer.flush();
+  }
+
+  private static final class Csv extends ExportWriter {
+    Csv(Writer writer, String[] columns) throws IOException {
+      super(writer, columns);
+      write((Object[]) columns);
+    }
+
+    @Override
+    void write(Object... values) throws IOException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        if (values[i] != null) {
+          writeField(values[i].toString());
+        }
+      }
+      writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+      boolean quote =
+          value.indexOf(',') >= 0
+              || value.indexOf('"') >= 0
+              || value.indexOf('\n') >= 0
+              || value.indexOf('\r') >= 0;
+      if (!quote) {
+        writer.write(value);
+        return;
+      }
+      writer.write('"');
+      writer.write(value.replace("\"", "\"\""));
+      writer.write('"');
+    }
+  }
+
+  private static final class JsonLines extends ExportWriter {
+    private final JsonGenerator json;
+
+    JsonLines(Writer writer, String[] columns) throws IOException {
+      super(writer, columns);
+      this.json = JSON.createGenerator(writer);
+      json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    @Override
+    void write(Object... values) throws IOException {
+      json.writeStartObject();
+      for (int i = 0; i < values.length; i++) {
+        json.writeFieldName(columns[i]);
+        Object value = values[i];
+        if (value == null) {
+          json.writeNull();
+        } else if (value instanceof Number number) {
+          json.writeNumber(number.longValue());
+        } else {
+          json.writeString(value.toString());
+        }
+      }
+      json.writeEndObject();
+      json.flush();
+      writer.write('\n');
+    }
+
+    @Override
+    void finish() throws IOException {
+      json.close();
+      super.finish();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.antunes.flashcards.domain.export;
+
+import com.antunes.flashcards.domain.deck.model.DeckExportRow;
+import com.antunes.flashcards.domain.deck.repository.DeckRepository;
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardWithoutUserException;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardExportRow;
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.user.model.User;
+import jakarta.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports a user's flashcards and decks straight from a forward-only cursor to an output stream.
+ * Queries select constructor projections instead of entities, so no row enters the persistence
+ * context and no owner is loaded. Heap use is one fetch of rows plus the write buffer, whatever the
+ * size of the library. The output stream is flushed but left open.
+ */
+@Service
+public class LibraryExportService {
+  private final FlashcardRepository flashcardRepository;
+  private final DeckRepository deckRepository;
+
+  public LibraryExportService(
+      FlashcardRepository flashcardRepository, DeckRepository deckRepository) {
+    this.flashcardRepository = flashcardRepository;
+    this.deckRepository = deckRepository;
+  }
+
+  /** Writes one row per flashcard, ordered by id. Returns the number of rows written. */
+  @Transactional
+  public long exportFlashcards(User owner, OutputStream output, ExportFormat format) {
+    try (Stream<FlashcardExportRow> rows = flashcardRepository.streamExportRows(ownerId(owner))) {
+      return write(
+          rows.iterator(),
+          output,
+          format,
+          row -> new Object[] {row.id(), row.question(), row.answer()},
+          "id",
+          "question",
+          "answer");
+    }
+  }
+
+  /**
+   * Writes one row per card of each deck, ordered by deck and position. Returns the number of rows
+   * written.
+   */
+  @Transactional
+  public long exportDecks(User owner, OutputStream output, ExportFormat format) {
+    try (Stream<DeckExportRow> rows = deckRepository.streamExportRows(ownerId(owner))) {
+      return write(
+          rows.iterator(),
+          output,
+          format,
+          row ->
+              new Object[] {
+                row.deckId(),
+                row.title(),
+                row.position(),
+                row.flashcardId(),
+                row.question(),
+                row.answer()
+              },
+          "deck_id",
+          "title",
+          "position",
+          "flashcard_id",
+          "question",
+          "answer");
+    }
+  }
+
+  private interface Columns<T> {
+    Object[] of(T row);
+  }
+
+  private static <T> long write(
+      Iterator<T> rows,
+      OutputStream output,
+      ExportFormat format,
+      Columns<T> columns,
+      String... names) {
+    try {
+      BufferedWriter writer =
+          new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+      ExportWriter exportWriter = ExportWriter.create(format, writer, names);
+      long written = 0;
+      while (rows.hasNext()) {
+        exportWriter.write(columns.of(rows.next()));
+        written++;
+      }
+      exportWriter.finish();
+      return written;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write export", e);
+    }
+  }
+
+  private static Long ownerId(User owner) {
+    if (owner == null) {
+      throw new FlashcardWithoutUserException("User cannot be null");
+    }
+    return owner.getId();
+  }
+}
@@ -0,0 +1,7 @@
+package com.antunes.flashcards.domain.flashcard.exception;
+
+public class FlashcardSearchTimeoutException extends RuntimeException {
+  public FlashcardSearchTimeoutException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
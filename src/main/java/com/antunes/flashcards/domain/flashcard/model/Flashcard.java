@@ -8,9 +8,13 @@ import lombok.Setter;
 
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_flashcard_owner_id", columnList = "owner_id, id"))
 public class Flashcard {
+  // Pooled sequence ids are known before the INSERT, so Hibernate can batch inserts. IDENTITY
+  // needs the generated key back from each row.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flashcard_seq")
+  @SequenceGenerator(name = "flashcard_seq", sequenceName = "flashcard_seq", allocationSize = 500)
   private Long id;
 
   @Column @Setter private String question;
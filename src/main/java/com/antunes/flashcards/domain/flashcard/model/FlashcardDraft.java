@@ -0,0 +1,4 @@
+package com.antunes.flashcards.domain.flashcard.model;
+
+/** Question and answer of a card that has not been created yet. */
+public record FlashcardDraft(String question, String answer) {}
@@ -0,0 +1,4 @@
+package com.antunes.flashcards.domain.flashcard.model;
+
+/** A flashcard's exported columns, read without loading the entity or its owner. */
+public record FlashcardExportRow(Long id, String question, String answer) {}
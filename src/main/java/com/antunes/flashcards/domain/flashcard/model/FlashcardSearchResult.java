@@ -0,0 +1,4 @@
+package com.antunes.flashcards.domain.flashcard.model;
+
+/** A flashcard matched by a search, read without loading the entity or its owner. */
+public record FlashcardSearchResult(Long id, String question, String answer, double rank) {}
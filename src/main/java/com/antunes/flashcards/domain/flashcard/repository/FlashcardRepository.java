@@ -1,14 +1,37 @@
 package com.antunes.flashcards.domain.flashcard.repository;
 
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardExportRow;
 import com.antunes.flashcards.domain.user.model.User;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FlashcardRepository extends JpaRepository<Flashcard, Long> {
   @EntityGraph(attributePaths = "owner")
   List<Flashcard> findByOwner(User owner);
+
+  // The owner's login attempt is an inverse one-to-one that cannot be lazy, so it is joined too
+  // and a page stays a single statement.
+  @Query(
+      "SELECT f FROM Flashcard f JOIN FETCH f.owner o LEFT JOIN FETCH o.loginAttempt"
+          + " WHERE f.owner.id = :ownerId AND f.id > :afterId ORDER BY f.id")
+  List<Flashcard> findPageByOwner(
+      @Param("ownerId") Long ownerId, @Param("afterId") long afterId, Limit limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.antunes.flashcards.domain.flashcard.model.FlashcardExportRow(f.id,"
+          + " f.question, f.answer)"
+          + " FROM Flashcard f WHERE f.owner.id = :ownerId ORDER BY f.id")
+  Stream<FlashcardExportRow> streamExportRows(@Param("ownerId") Long ownerId);
 }
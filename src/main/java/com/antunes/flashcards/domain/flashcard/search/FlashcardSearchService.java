@@ -0,0 +1,188 @@
+package com.antunes.flashcards.domain.flashcard.search;
+
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardSearchTimeoutException;
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardValidationException;
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardWithoutUserException;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardSearchResult;
+import com.antunes.flashcards.domain.flashcard.validation.FlashcardValidator;
+import com.antunes.flashcards.domain.user.model.User;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ranked search over the question and answer of one owner's flashcards.
+ *
+ * <p>On PostgreSQL the text is indexed in a {@code tsvector} column, with the question weighted
+ * above the answer, and a GIN index that leads with {@code owner_id}, so a search only visits the
+ * owner's postings. The column, the trigger that maintains it and the index are created by the V10
+ * to V12 migrations; on startup this only checks that the index exists and is valid. Queries use
+ * {@code websearch_to_tsquery} syntax, are ranked with {@code ts_rank} on the stored vector and run
+ * under a statement timeout of {@code spring.flashcards.search.timeout-millis}. Words are matched
+ * exactly, without stemming, because cards are often in several languages at once.
+ *
+ * <p>Other databases, such as H2 in tests, and PostgreSQL before the migrations have run, fall back
+ * to matching every word as a case-insensitive substring and ranking in memory. The fallback scans
+ * the owner's cards and is not meant for large libraries.
+ */
+@Service
+public class FlashcardSearchService {
+  public static final int MAX_RESULTS = 100;
+  static final int MAX_FALLBACK_TERMS = 8;
+  static final int MAX_FALLBACK_CANDIDATES = 1000;
+  private static final double QUESTION_WEIGHT = 1.0;
+  private static final double ANSWER_WEIGHT = 0.4;
+  private static final Logger logger = LoggerFactory.getLogger(FlashcardSearchService.class);
+
+  private static final String INDEX_READY =
+      "SELECT coalesce((SELECT indisvalid FROM pg_index"
+          + " WHERE indexrelid = to_regclass('idx_flashcard_search')), false)";
+  private static final String FULL_TEXT_QUERY =
+      "SELECT f.id, f.question, f.answer, ts_rank(f.search_vector, q) AS rank"
+          + " FROM flashcard f, websearch_to_tsquery('simple', ?) q"
+          + " WHERE f.owner_id = ? AND f.search_vector @@ q"
+          + " ORDER BY rank DESC, f.id LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int timeoutMillis;
+  private volatile boolean fullText;
+
+  public FlashcardSearchService(
+      JdbcTemplate jdbcTemplate,
+      @Value("${spring.flashcards.search.timeout-millis:2000}") int timeoutMillis) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void prepare() {
+    String database =
+        jdbcTemplate.execute(
+            (ConnectionCallback<String>)
+                connection -> connection.getMetaData().getDatabaseProductName());
+    if (!"PostgreSQL".equals(database)) {
+      logger.info("Flashcard search uses substring matching on {}", database);
+      return;
+    }
+    // Read-only: the schema belongs to the migrations, and an invalid index is a failed build.
+    if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(INDEX_READY, Boolean.class))) {
+      logger.warn(
+          "idx_flashcard_search is missing or invalid, flashcard search uses substring matching"
+              + " until the migrations have run and the app restarts");
+      return;
+    }
+    fullText = true;
+    logger.info("Flashcard search uses the full-text index");
+  }
+
+  public boolean isFullText() {
+    return fullText;
+  }
+
+  /** The owner's cards matching {@code query}, best first, at most {@code limit} of them. */
+  @Transactional
+  public List<FlashcardSearchResult> search(User owner, String query, int limit) {
+    if (owner == null) {
+      throw new FlashcardWithoutUserException("User cannot be null");
+    }
+    if (query == null || query.isBlank()) {
+      throw new FlashcardValidationException("Search query cannot be blank");
+    }
+    if (query.length() > FlashcardValidator.MAX_LENGTH) {
+      throw new FlashcardValidationException(
+          "Search query cannot be longer than " + FlashcardValidator.MAX_LENGTH + " characters");
+    }
+    if (limit < 1 || limit > MAX_RESULTS) {
+      throw new FlashcardValidationException("Search limit must be between 1 and " + MAX_RESULTS);
+    }
+    return fullText
+        ? searchFullText(owner.getId(), query, limit)
+        : searchSubstrings(owner.getId(), query, limit);
+  }
+
+  private List<FlashcardSearchResult> searchFullText(Long ownerId, String query, int limit) {
+    try {
+      // Scoped to the surrounding transaction.
+      jdbcTemplate.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+      return jdbcTemplate.query(
+          FULL_TEXT_QUERY,
+          (rs, row) ->
+              new FlashcardSearchResult(
+                  rs.getLong("id"),
+                  rs.getString("question"),
+                  rs.getString("answer"),
+                  rs.getDouble("rank")),
+          query,
+          ownerId,
+          limit);
+    } catch (QueryTimeoutException e) {
+      throw new FlashcardSearchTimeoutException("Search took too long", e);
+    }
+  }
+
+  private List<FlashcardSearchResult> searchSubstrings(Long ownerId, String query, int limit) {
+    Set<String> terms = new LinkedHashSet<>();
+    for (String term : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+      if (!term.isEmpty() && terms.size() < MAX_FALLBACK_TERMS) {
+        terms.add(term);
+      }
+    }
+    StringBuilder sql =
+        new StringBuilder("SELECT id, question, answer FROM flashcard WHERE owner_id = ?");
+    List<Object> args = new ArrayList<>();
+    args.add(ownerId);
+    for (String term : terms) {
+      sql.append(" AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')");
+      String pattern = "%" + escapeLike(term) + "%";
+      args.add(pattern);
+      args.add(pattern);
+    }
+    sql.append(" ORDER BY id LIMIT ?");
+    args.add(MAX_FALLBACK_CANDIDATES);
+    List<FlashcardSearchResult> results =
+        jdbcTemplate.query(
+            sql.toString(),
+            (rs, row) -> {
+              String question = rs.getString("question");
+              String answer = rs.getString("answer");
+              return new FlashcardSearchResult(
+                  rs.getLong("id"), question, answer, rank(terms, question, answer));
+            },
+            args.toArray());
+    return results.stream()
+        .sorted(
+            Comparator.comparingDouble(FlashcardSearchResult::rank)
+                .reversed()
+                .thenComparing(FlashcardSearchResult::id))
+        .limit(limit)
+        .toList();
+  }
+
+  // Mirrors the full-text weights: a word found in the question counts more than in the answer.
+  private static double rank(Set<String> terms, String question, String answer) {
+    String lowerQuestion = question == null ? "" : question.toLowerCase(Locale.ROOT);
+    String lowerAnswer = answer == null ? "" : answer.toLowerCase(Locale.ROOT);
+    double rank = 0;
+    for (String term : terms) {
+      rank += lowerQuestion.contains(term) ? QUESTION_WEIGHT : ANSWER_WEIGHT;
+    }
+    return rank / terms.size();
+  }
+
+  private static String escapeLike(String term) {
+    return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -4,12 +4,21 @@ import com.antunes.flashcards.domain.flashcard.exception.FlashcardNotFoundExcept
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardValidationException;
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardWithoutUserException;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
 import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
 import com.antunes.flashcards.domain.flashcard.validation.FlashcardValidator;
+import com.antunes.flashcards.domain.pagination.KeysetPage;
+import com.antunes.flashcards.domain.pagination.PageCursor;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,6 +27,11 @@ public class FlashcardService {
   private final FlashcardRepository flashcardRepository;
   private final UserRepository userRepository;
 
+  @PersistenceContext EntityManager entityManager;
+
+  @Value("${spring.flashcards.batch-size:500}")
+  private int batchSize = 500;
+
   @Autowired
   public FlashcardService(FlashcardRepository flashcardRepository, UserRepository userRepository) {
     this.flashcardRepository = flashcardRepository;
@@ -41,6 +55,46 @@ public class FlashcardService {
     return flashcardRepository.save(flashcard);
   }
 
+  /**
+   * Creates all cards or none. Every draft is validated and the owner is checked once before
+   * anything is written. Inserts are flushed in JDBC batches of {@code
+   * spring.flashcards.batch-size} and the persistence context is cleared after each one. Returns
+   * the new ids in input order.
+   */
+  @Transactional
+  public List<Long> createFlashcards(User owner, List<FlashcardDraft> drafts) {
+    if (owner == null) {
+      throw new FlashcardWithoutUserException("User cannot be null");
+    }
+    if (owner.getId() == null) {
+      throw new UserNotFoundException("User not found");
+    }
+    List<Flashcard> flashcards = new ArrayList<>(drafts.size());
+    for (int i = 0; i < drafts.size(); i++) {
+      FlashcardDraft draft = drafts.get(i);
+      Flashcard flashcard = new Flashcard(draft.question(), draft.answer(), owner);
+      if (!FlashcardValidator.isValid(flashcard)) {
+        throw new FlashcardValidationException("Invalid flashcard at index " + i);
+      }
+      flashcards.add(flashcard);
+    }
+    if (!userRepository.existsById(owner.getId())) {
+      throw new UserNotFoundException("User with Id " + owner.getId() + " not found");
+    }
+    List<Long> ids = new ArrayList<>(flashcards.size());
+    for (int from = 0; from < flashcards.size(); from += batchSize) {
+      List<Flashcard> batch =
+          flashcards.subList(from, Math.min(from + batchSize, flashcards.size()));
+      for (Flashcard flashcard : batch) {
+        entityManager.persist(flashcard);
+        ids.add(flashcard.getId());
+      }
+      entityManager.flush();
+      entityManager.clear();
+    }
+    return ids;
+  }
+
   public Flashcard findById(Long id) {
     if (id == null) {
       throw new FlashcardValidationException("Id cannot be null");
@@ -50,6 +104,19 @@ public class FlashcardService {
         .orElseThrow(() -> new FlashcardNotFoundException("Flashcard not found"));
   }
 
+  /**
+   * Lists the owner's flashcards by id, starting after {@code cursor} (null for the first page).
+   */
+  public KeysetPage<Flashcard> listFlashcards(User owner, String cursor, int size) {
+    if (owner == null) {
+      throw new FlashcardWithoutUserException("User cannot be null");
+    }
+    List<Flashcard> rows =
+        flashcardRepository.findPageByOwner(
+            owner.getId(), PageCursor.decode(cursor), PageCursor.limit(size));
+    return PageCursor.page(rows, size, Flashcard::getId);
+  }
+
   public Flashcard createFlashcard(String question, String answer, User user) {
     return validateAndSave(new Flashcard(question, answer, user));
   }
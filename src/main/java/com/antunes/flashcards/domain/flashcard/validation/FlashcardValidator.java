@@ -3,10 +3,18 @@ package com.antunes.flashcards.domain.flashcard.validation;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
 
 public class FlashcardValidator {
+  // Question and answer are mapped to default VARCHAR(255) columns.
+  public static final int MAX_LENGTH = 255;
+
   public static boolean isValid(Flashcard flashcard) {
-    return (flashcard.getQuestion() != null)
-        && !flashcard.getQuestion().isBlank()
-        && (flashcard.getAnswer() != null)
-        && !flashcard.getAnswer().isBlank();
+    return isValid(flashcard.getQuestion(), flashcard.getAnswer());
+  }
+
+  public static boolean isValid(String question, String answer) {
+    return isValidText(question) && isValidText(answer);
+  }
+
+  private static boolean isValidText(String text) {
+    return text != null && !text.isBlank() && text.length() <= MAX_LENGTH;
   }
 }
@@ -0,0 +1,10 @@
+package com.antunes.flashcards.domain.pagination;
+
+import java.util.List;
+
+/** One page of a keyset listing. {@code nextCursor} is null on the last page. */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
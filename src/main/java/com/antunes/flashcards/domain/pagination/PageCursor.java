@@ -0,0 +1,59 @@
+package com.antunes.flashcards.domain.pagination;
+
+import com.antunes.flashcards.domain.pagination.exception.InvalidPageRequestException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Keyset pagination over ascending ids. A page is read with {@code id > :afterId ORDER BY id} and a
+ * limit one above the page size, so each page costs one index range scan from the cursor, however
+ * deep it is, and the extra row tells whether another page follows. The cursor is the last id of a
+ * page, Base64url encoded so clients treat it as opaque.
+ */
+public final class PageCursor {
+  public static final int MAX_PAGE_SIZE = 500;
+  private static final int ENCODED_LENGTH = 11;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private PageCursor() {}
+
+  public static String encode(long lastId) {
+    return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+  }
+
+  /** The id after which the page starts, 0 for the first page. */
+  public static long decode(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return 0L;
+    }
+    if (cursor.length() != ENCODED_LENGTH) {
+      throw new InvalidPageRequestException("Invalid cursor");
+    }
+    try {
+      return ByteBuffer.wrap(DECODER.decode(cursor)).getLong();
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPageRequestException("Invalid cursor");
+    }
+  }
+
+  /** The limit to query with, one above the page size. */
+  public static Limit limit(int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new InvalidPageRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    return Limit.of(size + 1);
+  }
+
+  /** Trims the extra row read by {@link #limit(int)} and derives the next cursor from it. */
+  public static <T> KeysetPage<T> page(List<T> rows, int size, Function<T, Long> id) {
+    if (rows.size() <= size) {
+      return new KeysetPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, size);
+    return new KeysetPage<>(items, encode(id.apply(items.get(size - 1))));
+  }
+}
@@ -0,0 +1,7 @@
+package com.antunes.flashcards.domain.pagination.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+  public InvalidPageRequestException(String message) {
+    super(message);
+  }
+}
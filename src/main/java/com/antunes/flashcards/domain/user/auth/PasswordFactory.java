@@ -1,6 +1,7 @@
 package com.antunes.flashcards.domain.user.auth;
 
 import com.antunes.flashcards.domain.user.model.Password;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -9,15 +10,31 @@ import org.springframework.stereotype.Component;
 public class PasswordFactory {
   private final PasswordValidator passwordValidator;
   private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingExecutor hashingExecutor;
 
-  @Autowired
   public PasswordFactory(PasswordValidator passwordValidator, PasswordEncoder passwordEncoder) {
+    this(passwordValidator, passwordEncoder, null);
+  }
+
+  @Autowired
+  public PasswordFactory(
+      PasswordValidator passwordValidator,
+      PasswordEncoder passwordEncoder,
+      PasswordHashingExecutor hashingExecutor) {
     this.passwordValidator = passwordValidator;
     this.passwordEncoder = passwordEncoder;
+    this.hashingExecutor = hashingExecutor;
   }
 
   public Password create(String rawPassword) {
+    return PasswordHashingExecutor.await(createAsync(rawPassword));
+  }
+
+  public CompletableFuture<Password> createAsync(String rawPassword) {
     passwordValidator.assertValid(rawPassword);
-    return new Password(rawPassword, passwordEncoder);
+    if (hashingExecutor == null) {
+      return CompletableFuture.completedFuture(new Password(rawPassword, passwordEncoder));
+    }
+    return hashingExecutor.submit(() -> new Password(rawPassword, passwordEncoder));
   }
 }
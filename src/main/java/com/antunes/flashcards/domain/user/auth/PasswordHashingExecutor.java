@@ -0,0 +1,145 @@
+package com.antunes.flashcards.domain.user.auth;
+
+import com.antunes.flashcards.domain.user.exception.PasswordHashingRejectedException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password hashing and matching on a dedicated pool sized to the number of cores, so a burst
+ * of registrations or logins cannot occupy the request threads. Work beyond the bounded queue is
+ * rejected immediately with a {@link PasswordHashingRejectedException}.
+ *
+ * <p>Returned futures complete on a separate callback pool, so the database work chained onto a
+ * hash never holds a hashing thread while it waits for a connection.
+ */
+@Component
+public class PasswordHashingExecutor {
+  private final ThreadPoolExecutor executor;
+  private final ThreadPoolExecutor callbackExecutor;
+  private final LongAdder completedCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder totalHashNanos = new LongAdder();
+  private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+
+  @Autowired
+  public PasswordHashingExecutor(
+      @Value("${spring.hashing.threads:0}") int threads,
+      @Value("${spring.hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${spring.hashing.callback-threads:10}") int callbackThreads) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new NamedThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    // Unbounded, but each callback belongs to a hash the bounded queue already admitted.
+    this.callbackExecutor =
+        new ThreadPoolExecutor(
+            callbackThreads,
+            callbackThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory("password-callback-"));
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(() -> timed(task), executor)
+          .whenCompleteAsync((result, error) -> {}, callbackExecutor);
+    } catch (RejectedExecutionException e) {
+      rejectedCount.increment();
+      throw new PasswordHashingRejectedException(
+          "Too many password operations in progress, please try again later");
+    }
+  }
+
+  private <T> T timed(Supplier<T> task) {
+    long start = System.nanoTime();
+    try {
+      return task.get();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      completedCount.increment();
+      totalHashNanos.add(elapsed);
+      maxHashNanos.accumulate(elapsed);
+    }
+  }
+
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public Duration getAverageHashLatency() {
+    long completed = completedCount.sum();
+    return completed == 0 ? Duration.ZERO : Duration.ofNanos(totalHashNanos.sum() / completed);
+  }
+
+  public Duration getMaxHashLatency() {
+    return Duration.ofNanos(maxHashNanos.get());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+    callbackExecutor.shutdown();
+  }
+
+  private static class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    NamedThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.antunes.flashcards.domain.user.auth.login;
+
+import com.antunes.flashcards.domain.user.auth.model.LoginAttemptSnapshot;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import jakarta.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps login attempt state per user in memory and writes changes behind in batches. Entries are
+ * seeded from the persisted {@code LoginAttempt}, so lockouts survive a restart once flushed. State
+ * is per instance; run a single node or the database tracker when instances share users.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "spring.login.attempts.tracker", havingValue = "memory")
+public class InMemoryLoginAttemptTracker implements LoginAttemptTracker {
+  private static final Logger logger = LoggerFactory.getLogger(InMemoryLoginAttemptTracker.class);
+
+  private final LoginAttemptService loginAttemptService;
+  private final ClockService clockService;
+  private final AuthExpiryIndex authExpiryIndex;
+  private final int batchSize;
+
+  private final ConcurrentHashMap<Long, LoginAttemptSnapshot> states = new ConcurrentHashMap<>();
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+  public InMemoryLoginAttemptTracker(
+      LoginAttemptService loginAttemptService,
+      ClockService clockService,
+      AuthExpiryIndex authExpiryIndex,
+      @Value("${spring.login.attempts.flush-batch-size:500}") int batchSize) {
+    this.loginAttemptService = loginAttemptService;
+    this.clockService = clockService;
+    this.authExpiryIndex = authExpiryIndex;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public boolean isLockedOut(UserCredentials credentials) {
+    LoginAttemptSnapshot snapshot = states.get(credentials.userId());
+    if (snapshot == null) {
+      snapshot = credentials.loginAttempt();
+    }
+    return snapshot.isLockedOut(clockService);
+  }
+
+  @Override
+  public void recordLoginOutcome(UserCredentials credentials, boolean successful) {
+    LoginAttemptSnapshot[] previous = new LoginAttemptSnapshot[1];
+    LoginAttemptSnapshot next =
+        states.compute(
+            credentials.userId(),
+            (id, current) -> {
+              LoginAttemptSnapshot base = current != null ? current : credentials.loginAttempt();
+              LoginAttemptSnapshot updated =
+                  successful ? base.afterSuccess(clockService) : base.afterFailure(clockService);
+              previous[0] = base;
+              return current == null && updated == base ? null : updated;
+            });
+    if (next == null || next == previous[0]) {
+      return;
+    }
+    pending.add(credentials.userId());
+    if (next.lockedUntil() != null && !next.lockedUntil().equals(previous[0].lockedUntil())) {
+      authExpiryIndex.trackLockout(credentials.userId(), next.lockedUntil());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${spring.login.attempts.flush-interval-millis:1000}")
+  public void scheduledFlush() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      logger.warn("Could not flush login attempts, will retry", e);
+    }
+  }
+
+  @PreDestroy
+  public int flush() {
+    int flushed = 0;
+    Iterator<Long> userIds = pending.iterator();
+    while (userIds.hasNext()) {
+      Map<Long, LoginAttemptSnapshot> batch = new LinkedHashMap<>();
+      while (userIds.hasNext() && batch.size() < batchSize) {
+        Long userId = userIds.next();
+        boolean removed = pending.remove(userId);
+        LoginAttemptSnapshot snapshot = states.get(userId);
+        if (removed && snapshot != null) {
+          batch.put(userId, snapshot);
+        }
+      }
+      if (batch.isEmpty()) {
+        continue;
+      }
+      try {
+        loginAttemptService.persistSnapshots(batch);
+      } catch (RuntimeException e) {
+        pending.addAll(batch.keySet());
+        throw e;
+      }
+      batch.forEach(
+          (userId, snapshot) -> {
+            if (snapshot.isClean()) {
+              states.remove(userId, snapshot);
+            }
+          });
+      flushed += batch.size();
+    }
+    return flushed;
+  }
+
+  public int getTrackedCount() {
+    return states.size();
+  }
+
+  public int getPendingCount() {
+    return pending.size();
+  }
+}
@@ -1,22 +1,42 @@
 package com.antunes.flashcards.domain.user.auth.login;
 
 import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
+import com.antunes.flashcards.domain.user.auth.model.LoginAttemptSnapshot;
 import com.antunes.flashcards.domain.user.auth.repository.LoginAttemptRepository;
 import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
 import com.antunes.flashcards.infrastructure.time.ClockService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
-public class LoginAttemptService {
+public class LoginAttemptService implements LoginAttemptTracker {
   @Autowired private final LoginAttemptRepository loginAttemptRepository;
   @Autowired private final ClockService clockService;
+  private final AuthExpiryIndex authExpiryIndex;
+  private final UserRepository userRepository;
+
+  @PersistenceContext EntityManager entityManager;
 
   public LoginAttemptService(
-      LoginAttemptRepository loginAttemptRepository, ClockService clockService) {
+      LoginAttemptRepository loginAttemptRepository,
+      ClockService clockService,
+      AuthExpiryIndex authExpiryIndex,
+      UserRepository userRepository) {
     this.loginAttemptRepository = loginAttemptRepository;
     this.clockService = clockService;
+    this.authExpiryIndex = authExpiryIndex;
+    this.userRepository = userRepository;
   }
 
   public LoginAttempt getOrCreate(User user) {
@@ -29,6 +49,9 @@ public class LoginAttemptService {
   public void registerFailedAttempt(User user) {
     LoginAttempt loginAttempt = getOrCreate(user);
     loginAttempt.incrementAttempts(clockService);
+    if (loginAttempt.isLocked()) {
+      authExpiryIndex.trackLockout(user.getId(), loginAttempt.getLockedUntil());
+    }
   }
 
   public int getAttemptCount(User user) {
@@ -56,4 +79,71 @@ public class LoginAttemptService {
       loginAttemptRepository.saveAndFlush(loginAttempt);
     }
   }
+
+  @Override
+  public boolean isLockedOut(UserCredentials credentials) {
+    return credentials.loginAttempt().isLockedOut(clockService);
+  }
+
+  /**
+   * Writes the outcome relative to the stored row rather than to the snapshot read before the
+   * password check, so concurrent failures for one user each count towards the lockout. The
+   * snapshot only decides whether a success has anything to reset.
+   */
+  @Override
+  @Transactional
+  public void recordLoginOutcome(UserCredentials credentials, boolean successful) {
+    Long userId = credentials.userId();
+    LocalDateTime now = clockService.now();
+    if (successful) {
+      LoginAttemptSnapshot current = credentials.loginAttempt();
+      if (current.afterSuccess(clockService) != current) {
+        loginAttemptRepository.recordSuccess(userId, now);
+      }
+      return;
+    }
+    LocalDateTime lockUntil = clockService.plusMinutes(now, LoginAttempt.LOCK_MINUTES);
+    if (!recordFailure(userId, now, lockUntil)) {
+      // First failure for this user. The user row lock serializes concurrent first failures, so
+      // only one inserts and the others update the row it committed.
+      userRepository.lockById(userId);
+      if (!recordFailure(userId, now, lockUntil)) {
+        loginAttemptRepository.save(
+            new LoginAttempt(userReference(userId), new LoginAttemptSnapshot(1, now, null)));
+        return;
+      }
+    }
+    loginAttemptRepository
+        .findLockedUntilByUserId(userId)
+        .filter(lockUntil::equals)
+        .ifPresent(lockedUntil -> authExpiryIndex.trackLockout(userId, lockedUntil));
+  }
+
+  private boolean recordFailure(Long userId, LocalDateTime now, LocalDateTime lockUntil) {
+    return loginAttemptRepository.recordFailure(userId, now, LoginAttempt.MAX_ATTEMPTS, lockUntil)
+        > 0;
+  }
+
+  @Transactional
+  public void persistSnapshots(Map<Long, LoginAttemptSnapshot> snapshots) {
+    Map<Long, LoginAttempt> existing = new HashMap<>();
+    for (LoginAttempt loginAttempt : loginAttemptRepository.findAllByUserIds(snapshots.keySet())) {
+      existing.put(loginAttempt.getUser().getId(), loginAttempt);
+    }
+    List<LoginAttempt> created = new ArrayList<>();
+    snapshots.forEach(
+        (userId, snapshot) -> {
+          LoginAttempt loginAttempt = existing.get(userId);
+          if (loginAttempt != null) {
+            loginAttempt.apply(snapshot);
+          } else {
+            created.add(new LoginAttempt(userReference(userId), snapshot));
+          }
+        });
+    loginAttemptRepository.saveAll(created);
+  }
+
+  private User userReference(Long userId) {
+    return entityManager.getReference(User.class, userId);
+  }
 }
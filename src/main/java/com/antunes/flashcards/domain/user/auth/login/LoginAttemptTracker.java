@@ -0,0 +1,9 @@
+package com.antunes.flashcards.domain.user.auth.login;
+
+import com.antunes.flashcards.domain.user.model.UserCredentials;
+
+public interface LoginAttemptTracker {
+  boolean isLockedOut(UserCredentials credentials);
+
+  void recordLoginOutcome(UserCredentials credentials, boolean successful);
+}
@@ -1,53 +1,130 @@
 package com.antunes.flashcards.domain.user.auth.login;
 
+import com.antunes.flashcards.domain.user.auth.PasswordHashingExecutor;
+import com.antunes.flashcards.domain.user.auth.refresh.RefreshTokenService;
+import com.antunes.flashcards.domain.user.auth.token.AuthTokens;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.exception.PasswordHashingRejectedException;
 import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.exception.UserTimeoutException;
 import com.antunes.flashcards.domain.user.model.Email;
-import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
-import java.util.Optional;
+import com.antunes.flashcards.domain.user.service.RegisteredEmailFilter;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LoginService {
+  private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtTokenProvider jwtTokenProvider;
-  private final LoginAttemptService loginAttemptService;
+  private final LoginAttemptTracker loginAttemptTracker;
+  private final PasswordHashingExecutor hashingExecutor;
+  private final RegisteredEmailFilter registeredEmailFilter;
+  private final RefreshTokenService refreshTokenService;
 
   @Autowired
   public LoginService(
       UserRepository userRepository,
       PasswordEncoder passwordEncoder,
       JwtTokenProvider jwtTokenProvider,
-      LoginAttemptService loginAttemptService) {
+      LoginAttemptTracker loginAttemptTracker,
+      PasswordHashingExecutor hashingExecutor,
+      RegisteredEmailFilter registeredEmailFilter,
+      RefreshTokenService refreshTokenService) {
     this.userRepository = userRepository;
     this.passwordEncoder = passwordEncoder;
     this.jwtTokenProvider = jwtTokenProvider;
-    this.loginAttemptService = loginAttemptService;
+    this.loginAttemptTracker = loginAttemptTracker;
+    this.hashingExecutor = hashingExecutor;
+    this.registeredEmailFilter = registeredEmailFilter;
+    this.refreshTokenService = refreshTokenService;
   }
 
   public String login(String rawEmail, String rawPassword) {
+    return PasswordHashingExecutor.await(loginAsync(rawEmail, rawPassword));
+  }
+
+  public CompletableFuture<String> loginAsync(String rawEmail, String rawPassword) {
+    return authenticateAsync(rawEmail, rawPassword)
+        .thenApply(
+            credentials ->
+                jwtTokenProvider.generateAuthToken(credentials.email(), credentials.userId()));
+  }
+
+  /** Logs in and also starts a refresh token family, so later renewals skip the password check. */
+  public AuthTokens loginWithRefresh(String rawEmail, String rawPassword) {
+    UserCredentials credentials =
+        PasswordHashingExecutor.await(authenticateAsync(rawEmail, rawPassword));
+    // Issued on the calling thread, after the wait, so the insert never holds a pooled thread.
+    return new AuthTokens(
+        jwtTokenProvider.generateAuthToken(credentials.email(), credentials.userId()),
+        refreshTokenService.issue(credentials.userId()));
+  }
+
+  public AuthTokens refresh(String refreshToken) {
+    return refreshTokenService.refresh(refreshToken);
+  }
+
+  private CompletableFuture<UserCredentials> authenticateAsync(
+      String rawEmail, String rawPassword) {
     Email email = new Email(rawEmail);
-    Optional<User> userOptional = userRepository.findByEmail(email);
-    if (userOptional.isEmpty()) {
+    if (!registeredEmailFilter.mightContain(email)) {
       throw new UserNotFoundException("No accounts with this email");
     }
-    User user = userOptional.get();
-    loginAttemptService.unlockIfEligible(user);
-    if (loginAttemptService.isLocked(user)) {
+    UserCredentials credentials =
+        userRepository
+            .findCredentialsByEmail(email)
+            .orElseThrow(() -> new UserNotFoundException("No accounts with this email"));
+    if (loginAttemptTracker.isLockedOut(credentials)) {
       throw new UserTimeoutException("Your account was timedout for 15 minutes");
     }
-    String storedHashed = user.getHashedPassword();
-    if (!passwordEncoder.matches(rawPassword, storedHashed)) {
-      loginAttemptService.registerFailedAttempt(user);
-      throw new PasswordValidationException("Incorrect password");
+    String storedHashed = credentials.hashedPassword();
+    return hashingExecutor
+        .submit(() -> passwordEncoder.matches(rawPassword, storedHashed))
+        .thenApply(
+            matches -> {
+              loginAttemptTracker.recordLoginOutcome(credentials, matches);
+              if (!matches) {
+                throw new PasswordValidationException("Incorrect password");
+              }
+              rehashIfNeeded(credentials.userId(), rawPassword, storedHashed);
+              return credentials;
+            });
+  }
+
+  public void logout(String authToken) {
+    jwtTokenProvider.revoke(authToken);
+  }
+
+  public void logout(String authToken, String refreshToken) {
+    refreshTokenService.revoke(refreshToken);
+    logout(authToken);
+  }
+
+  private void rehashIfNeeded(Long userId, String rawPassword, String storedHashed) {
+    if (!passwordEncoder.upgradeEncoding(storedHashed)) {
+      return;
+    }
+    try {
+      hashingExecutor
+          .submit(() -> passwordEncoder.encode(rawPassword))
+          .thenAccept(newHash -> userRepository.updateHashedPassword(userId, storedHashed, newHash))
+          .exceptionally(
+              e -> {
+                logger.warn("Could not rehash password for user {}", userId, e);
+                return null;
+              });
+    } catch (PasswordHashingRejectedException e) {
+      logger.debug("Hashing executor saturated, rehash for user {} deferred", userId);
     }
-    loginAttemptService.onSuccessfulLogin(user);
-    return jwtTokenProvider.generateAuthToken(user.getEmail(), user.getId());
   }
 }
@@ -8,21 +8,24 @@ import lombok.Getter;
 
 @Entity
 public class LoginAttempt {
+  public static final int MAX_ATTEMPTS = 5;
+  public static final long LOCK_MINUTES = 15;
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Getter
   private Long id;
 
   @Getter
-  @OneToOne(fetch = FetchType.EAGER)
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false, unique = true)
   private User user;
 
   @Getter private int attemptCount;
 
-  private LocalDateTime lastAttemptTime;
+  @Getter private LocalDateTime lastAttemptTime;
 
-  private LocalDateTime lockedUntil;
+  @Getter private LocalDateTime lockedUntil;
 
   private LoginAttempt() {}
 
@@ -32,11 +35,22 @@ public class LoginAttempt {
     this.lastAttemptTime = clockService.now();
   }
 
+  public LoginAttempt(User user, LoginAttemptSnapshot snapshot) {
+    this.user = user;
+    apply(snapshot);
+  }
+
+  public void apply(LoginAttemptSnapshot snapshot) {
+    this.attemptCount = snapshot.attemptCount();
+    this.lastAttemptTime = snapshot.lastAttemptTime();
+    this.lockedUntil = snapshot.lockedUntil();
+  }
+
   public void incrementAttempts(ClockService clockService) {
     this.attemptCount++;
     this.lastAttemptTime = clockService.now();
-    if (attemptCount >= 5) {
-      lockedUntil = clockService.plusMinutes(lastAttemptTime, 15);
+    if (attemptCount >= MAX_ATTEMPTS) {
+      lockedUntil = clockService.plusMinutes(lastAttemptTime, LOCK_MINUTES);
     }
   }
 
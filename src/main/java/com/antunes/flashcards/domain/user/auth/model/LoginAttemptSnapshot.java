@@ -0,0 +1,41 @@
+package com.antunes.flashcards.domain.user.auth.model;
+
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.LocalDateTime;
+
+/** Immutable copy of a {@link LoginAttempt}, applying the same lockout rules without JPA. */
+public record LoginAttemptSnapshot(
+    int attemptCount, LocalDateTime lastAttemptTime, LocalDateTime lockedUntil) {
+
+  public boolean shouldUnlock(ClockService clockService) {
+    return lockedUntil != null && clockService.now().isAfter(lockedUntil);
+  }
+
+  public boolean isLockedOut(ClockService clockService) {
+    return lockedUntil != null && !shouldUnlock(clockService);
+  }
+
+  public boolean isClean() {
+    return attemptCount == 0 && lockedUntil == null;
+  }
+
+  public LoginAttemptSnapshot afterFailure(ClockService clockService) {
+    LoginAttemptSnapshot base =
+        shouldUnlock(clockService) ? new LoginAttemptSnapshot(0, lastAttemptTime, null) : this;
+    int count = base.attemptCount + 1;
+    LocalDateTime now = clockService.now();
+    LocalDateTime until =
+        count >= LoginAttempt.MAX_ATTEMPTS
+            ? clockService.plusMinutes(now, LoginAttempt.LOCK_MINUTES)
+            : base.lockedUntil;
+    return new LoginAttemptSnapshot(count, now, until);
+  }
+
+  public LoginAttemptSnapshot afterSuccess(ClockService clockService) {
+    LocalDateTime until = shouldUnlock(clockService) ? null : lockedUntil;
+    if (attemptCount == 0 && until == lockedUntil) {
+      return this;
+    }
+    return new LoginAttemptSnapshot(0, lastAttemptTime, until);
+  }
+}
@@ -1,5 +1,6 @@
 package com.antunes.flashcards.domain.user.auth.model;
 
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.model.User;
 import jakarta.persistence.*;
 import java.time.Instant;
@@ -7,7 +8,7 @@ import java.time.Instant;
 @Table(
     name = "password_reset_token",
     indexes = {
-      @Index(name = "idx_token", columnList = "token"),
+      @Index(name = "idx_token_hash", columnList = "tokenHash", unique = true),
       @Index(name = "idx_expiresAt", columnList = "expiresAt"),
       @Index(name = "idx_used", columnList = "used")
     })
@@ -17,8 +18,8 @@ public class PasswordResetToken {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @Column(nullable = false, unique = true)
-  private String token;
+  @Column(nullable = false, length = 43)
+  private String tokenHash;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "user_id", nullable = false)
@@ -34,7 +35,7 @@ public class PasswordResetToken {
 
   public PasswordResetToken(User user, String token, Instant expiresAt) {
     this.user = user;
-    this.token = token;
+    this.tokenHash = TokenDigest.sha256(token);
     this.expiresAt = expiresAt;
   }
 
@@ -46,8 +47,8 @@ public class PasswordResetToken {
     return id;
   }
 
-  public String getToken() {
-    return token;
+  public String getTokenHash() {
+    return tokenHash;
   }
 
   public User getUser() {
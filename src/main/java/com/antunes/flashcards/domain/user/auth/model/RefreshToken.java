@@ -0,0 +1,81 @@
+package com.antunes.flashcards.domain.user.auth.model;
+
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
+import com.antunes.flashcards.domain.user.model.User;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A refresh token, stored as its SHA-256 digest. Every login starts a family, and each refresh
+ * marks the presented token used and adds its successor to the same family. Presenting a used token
+ * again means it leaked, so the whole family is revoked.
+ */
+@Table(
+    name = "refresh_token",
+    indexes = {
+      @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true),
+      @Index(name = "idx_refresh_token_family", columnList = "familyId"),
+      @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+    })
+@Entity
+public class RefreshToken {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 43)
+  private String tokenHash;
+
+  @Column(nullable = false, length = 36)
+  private String familyId;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  @Column(nullable = false)
+  private boolean used = false;
+
+  @Column(nullable = false)
+  private boolean revoked = false;
+
+  protected RefreshToken() {}
+
+  public RefreshToken(User user, String familyId, String token, Instant expiresAt) {
+    this.user = user;
+    this.familyId = familyId;
+    this.tokenHash = TokenDigest.sha256(token);
+    this.expiresAt = expiresAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  public String getFamilyId() {
+    return familyId;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  public boolean isUsed() {
+    return used;
+  }
+
+  public boolean isRevoked() {
+    return revoked;
+  }
+}
@@ -0,0 +1,13 @@
+package com.antunes.flashcards.domain.user.auth.model;
+
+import java.time.Instant;
+
+/** The columns a refresh needs, read with the owner's email in a single query. */
+public record RefreshTokenState(
+    Long id,
+    String familyId,
+    Long userId,
+    String email,
+    Instant expiresAt,
+    boolean used,
+    boolean revoked) {}
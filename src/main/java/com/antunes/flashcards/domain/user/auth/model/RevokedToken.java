@@ -0,0 +1,46 @@
+package com.antunes.flashcards.domain.user.auth.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Table(
+    name = "revoked_token",
+    indexes = {
+      @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"),
+      @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt")
+    })
+@Entity
+public class RevokedToken {
+  @Id
+  @Column(length = 36)
+  private String jti;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  // Stamped by the database at insert, so every node compares it against the same clock.
+  @Column(
+      insertable = false,
+      updatable = false,
+      columnDefinition = "timestamp(6) with time zone default current_timestamp not null")
+  private Instant revokedAt;
+
+  protected RevokedToken() {}
+
+  public RevokedToken(String jti, Instant expiresAt) {
+    this.jti = jti;
+    this.expiresAt = expiresAt;
+  }
+
+  public String getJti() {
+    return jti;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  public Instant getRevokedAt() {
+    return revokedAt;
+  }
+}
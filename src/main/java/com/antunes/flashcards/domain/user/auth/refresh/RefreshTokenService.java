@@ -0,0 +1,112 @@
+package com.antunes.flashcards.domain.user.auth.refresh;
+
+import com.antunes.flashcards.domain.user.auth.model.RefreshToken;
+import com.antunes.flashcards.domain.user.auth.model.RefreshTokenState;
+import com.antunes.flashcards.domain.user.auth.repository.RefreshTokenRepository;
+import com.antunes.flashcards.domain.user.auth.token.AuthTokens;
+import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
+import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
+import com.antunes.flashcards.domain.user.exception.TokenValidationException;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import jakarta.transaction.Transactional;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues and rotates refresh tokens, so clients renew their auth token with a digest lookup and two
+ * writes instead of a password login. Tokens are random and only their SHA-256 digest is stored.
+ */
+@Service
+public class RefreshTokenService {
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+  private static final int TOKEN_BYTES = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final UserRepository userRepository;
+  private final JwtTokenProvider jwtTokenProvider;
+  private final ClockService clockService;
+  private final Duration timeToLive;
+  private final SecureRandom random = new SecureRandom();
+
+  public RefreshTokenService(
+      RefreshTokenRepository refreshTokenRepository,
+      UserRepository userRepository,
+      JwtTokenProvider jwtTokenProvider,
+      ClockService clockService,
+      @Value("${spring.refresh.ttl-seconds:2592000}") long ttlSeconds) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.clockService = clockService;
+    this.timeToLive = Duration.ofSeconds(ttlSeconds);
+  }
+
+  /** Starts a new token family for a user who just proved their password. */
+  @Transactional
+  public String issue(Long userId) {
+    return store(userId, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Exchanges a refresh token for a new auth token and the next refresh token of its family. A
+   * token that was already used revokes its family, and that revocation is kept even though the
+   * call fails.
+   */
+  @Transactional(dontRollbackOn = TokenValidationException.class)
+  public AuthTokens refresh(String refreshToken) {
+    RefreshTokenState state = find(refreshToken);
+    if (state.revoked()) {
+      throw new TokenValidationException("Refresh token has been revoked");
+    }
+    if (!state.expiresAt().isAfter(clockService.getClock().instant())) {
+      throw new TokenExpiredException("Token has expired");
+    }
+    // Conditional on the token being unused, so only one of two concurrent refreshes wins.
+    if (state.used() || refreshTokenRepository.markUsed(state.id()) == 0) {
+      refreshTokenRepository.revokeFamily(state.familyId());
+      logger.warn(
+          "Refresh token reused, revoked family {} of user {}", state.familyId(), state.userId());
+      throw new TokenValidationException("Refresh token reuse detected");
+    }
+    String next = store(state.userId(), state.familyId());
+    return new AuthTokens(jwtTokenProvider.generateAuthToken(state.email(), state.userId()), next);
+  }
+
+  @Transactional
+  public void revoke(String refreshToken) {
+    refreshTokenRepository.revokeFamily(find(refreshToken).familyId());
+  }
+
+  public int revokeAll(Long userId) {
+    return refreshTokenRepository.revokeAllForUser(userId);
+  }
+
+  private RefreshTokenState find(String refreshToken) {
+    if (refreshToken == null || refreshToken.isBlank()) {
+      throw new TokenValidationException("Token cannot be null or blank");
+    }
+    return refreshTokenRepository
+        .findStateByTokenHash(TokenDigest.sha256(refreshToken))
+        .orElseThrow(() -> new TokenValidationException("Invalid token"));
+  }
+
+  private String store(Long userId, String familyId) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    String token = ENCODER.encodeToString(bytes);
+    Instant expiresAt = clockService.getClock().instant().plus(timeToLive);
+    refreshTokenRepository.save(
+        new RefreshToken(userRepository.getReferenceById(userId), familyId, token, expiresAt));
+    return token;
+  }
+}
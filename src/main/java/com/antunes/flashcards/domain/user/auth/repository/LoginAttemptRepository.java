@@ -2,11 +2,59 @@ package com.antunes.flashcards.domain.user.auth.repository;
 
 import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
 import com.antunes.flashcards.domain.user.model.User;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
   Optional<LoginAttempt> findByUser(User user);
+
+  @Query("SELECT a FROM LoginAttempt a WHERE a.user.id IN :userIds")
+  List<LoginAttempt> findAllByUserIds(@Param("userIds") Collection<Long> userIds);
+
+  List<LoginAttempt> findAllByLockedUntilIsNotNull();
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE LoginAttempt a SET a.attemptCount = 0, a.lockedUntil = NULL"
+          + " WHERE a.user.id IN :userIds AND a.lockedUntil <= :now")
+  int clearExpiredLocks(
+      @Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+  // Relative to the stored row, so concurrent failures each count. SET expressions read the row
+  // as it was before the update.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE LoginAttempt a SET"
+          + " a.attemptCount = CASE WHEN a.lockedUntil < :now THEN 1"
+          + " ELSE a.attemptCount + 1 END,"
+          + " a.lockedUntil = CASE WHEN a.lockedUntil < :now THEN NULL"
+          + " WHEN a.attemptCount + 1 >= :maxAttempts THEN :lockUntil"
+          + " ELSE a.lockedUntil END,"
+          + " a.lastAttemptTime = :now"
+          + " WHERE a.user.id = :userId")
+  int recordFailure(
+      @Param("userId") Long userId,
+      @Param("now") LocalDateTime now,
+      @Param("maxAttempts") int maxAttempts,
+      @Param("lockUntil") LocalDateTime lockUntil);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE LoginAttempt a SET a.attemptCount = 0,"
+          + " a.lockedUntil = CASE WHEN a.lockedUntil < :now THEN NULL ELSE a.lockedUntil END"
+          + " WHERE a.user.id = :userId")
+  int recordSuccess(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+  @Query("SELECT a.lockedUntil FROM LoginAttempt a WHERE a.user.id = :userId")
+  Optional<LocalDateTime> findLockedUntilByUserId(@Param("userId") Long userId);
 }
@@ -1,10 +1,14 @@
 package com.antunes.flashcards.domain.user.auth.repository;
 
 import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.model.User;
 import jakarta.transaction.Transactional;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,12 +17,38 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-  Optional<PasswordResetToken> findByToken(String token);
+  Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+  default Optional<PasswordResetToken> findByToken(String token) {
+    if (token == null) {
+      return Optional.empty();
+    }
+    return findByTokenHash(TokenDigest.sha256(token));
+  }
 
   Optional<PasswordResetToken> findByUser(User user);
 
+  List<PasswordResetToken> findAllByUsedFalse();
+
+  @Modifying
+  @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.id = :id AND t.used = false")
+  int markUsed(@Param("id") Long id);
+
+  @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiresAt <= :now ORDER BY t.id")
+  List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+  @Query("SELECT t.id FROM PasswordResetToken t WHERE t.used = true ORDER BY t.id")
+  List<Long> findUsedIds(Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+  int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
   @Modifying
   @Transactional
-  @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt <= :now OR t.used = true")
-  void deleteAllExpiredOrUsed(@Param("now") Instant now);
+  @Query(
+      "UPDATE PasswordResetToken t SET t.used = true"
+          + " WHERE t.id IN :ids AND t.expiresAt <= :now AND t.used = false")
+  int markExpiredByIds(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
@@ -0,0 +1,48 @@
+package com.antunes.flashcards.domain.user.auth.repository;
+
+import com.antunes.flashcards.domain.user.auth.model.RefreshToken;
+import com.antunes.flashcards.domain.user.auth.model.RefreshTokenState;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+  @Query(
+      "SELECT new com.antunes.flashcards.domain.user.auth.model.RefreshTokenState(t.id,"
+          + " t.familyId, u.id, u.email.rawEmail, t.expiresAt, t.used, t.revoked)"
+          + " FROM RefreshToken t JOIN t.user u WHERE t.tokenHash = :tokenHash")
+  Optional<RefreshTokenState> findStateByTokenHash(@Param("tokenHash") String tokenHash);
+
+  @Modifying
+  @Query(
+      "UPDATE RefreshToken t SET t.used = true"
+          + " WHERE t.id = :id AND t.used = false AND t.revoked = false")
+  int markUsed(@Param("id") Long id);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+  int revokeFamily(@Param("familyId") String familyId);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.user.id = :userId")
+  int revokeAllForUser(@Param("userId") Long userId);
+
+  @Query("SELECT t.id FROM RefreshToken t WHERE t.expiresAt <= :now ORDER BY t.id")
+  List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids AND t.expiresAt <= :now")
+  int deleteExpiredByIds(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+}
@@ -0,0 +1,26 @@
+package com.antunes.flashcards.domain.user.auth.repository;
+
+import com.antunes.flashcards.domain.user.auth.model.RevokedToken;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+  List<RevokedToken> findAllByExpiresAtAfter(Instant now);
+
+  @Query("SELECT instant")
+  Instant currentInstant();
+
+  List<RevokedToken> findAllByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
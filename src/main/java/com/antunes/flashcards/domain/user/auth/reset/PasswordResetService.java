@@ -2,8 +2,13 @@ package com.antunes.flashcards.domain.user.auth.reset;
 
 import com.antunes.flashcards.domain.user.auth.PasswordFactory;
 import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
+import com.antunes.flashcards.domain.user.auth.refresh.RefreshTokenService;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.auth.token.IssuedToken;
+import com.antunes.flashcards.domain.user.auth.token.JwtKeyRing;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenClaims;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.exception.ResetTokenNotFoundException;
 import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
@@ -12,50 +17,88 @@ import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.Password;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import com.antunes.flashcards.domain.user.service.RegisteredEmailFilter;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
 import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PasswordResetService {
+  private static final String FINGERPRINT_PURPOSE = "password-reset-fingerprint";
+
   private final UserRepository userRepository;
   private final PasswordFactory passwordFactory;
   private final JwtTokenProvider jwtTokenProvider;
   private final PasswordResetTokenRepository passwordResetTokenRepository;
-
-  @PersistenceContext EntityManager entityManager;
+  private final RegisteredEmailFilter registeredEmailFilter;
+  private final AuthExpiryIndex authExpiryIndex;
+  private final PasswordResetThrottle passwordResetThrottle;
+  private final RefreshTokenService refreshTokenService;
+  private final ResetMode mode;
 
   @Autowired
   public PasswordResetService(
       UserRepository userRepository,
       PasswordFactory passwordFactory,
       JwtTokenProvider jwtTokenProvider,
-      PasswordResetTokenRepository passwordResetTokenRepository) {
+      PasswordResetTokenRepository passwordResetTokenRepository,
+      RegisteredEmailFilter registeredEmailFilter,
+      AuthExpiryIndex authExpiryIndex,
+      PasswordResetThrottle passwordResetThrottle,
+      RefreshTokenService refreshTokenService,
+      @Value("${spring.reset.mode:table}") ResetMode mode) {
     this.userRepository = userRepository;
     this.passwordFactory = passwordFactory;
     this.jwtTokenProvider = jwtTokenProvider;
     this.passwordResetTokenRepository = passwordResetTokenRepository;
+    this.registeredEmailFilter = registeredEmailFilter;
+    this.authExpiryIndex = authExpiryIndex;
+    this.passwordResetThrottle = passwordResetThrottle;
+    this.refreshTokenService = refreshTokenService;
+    this.mode = mode;
   }
 
+  // Annotated as well: the call below goes through this, not the proxy.
   @Transactional
   public String reset(String rawEmail) {
+    return reset(rawEmail, null);
+  }
+
+  @Transactional
+  public String reset(String rawEmail, String clientAddress) {
     Email email = new Email(rawEmail);
+    passwordResetThrottle.check(email, clientAddress);
+    if (!registeredEmailFilter.mightContain(email)) {
+      throw new UserNotFoundException("No accounts with this email");
+    }
     User user =
         userRepository
             .findByEmail(email)
             .orElseThrow(() -> new UserNotFoundException("No accounts with this email"));
-    String token = jwtTokenProvider.generateResetToken(user.getEmail(), user.getId());
+    if (mode == ResetMode.STATELESS) {
+      return jwtTokenProvider
+          .issueResetToken(user.getEmail(), user.getId(), fingerprint(user.getHashedPassword()))
+          .value();
+    }
+    IssuedToken token = jwtTokenProvider.issueResetToken(user.getEmail(), user.getId());
     PasswordResetToken resetToken =
-        new PasswordResetToken(
-            user, token, jwtTokenProvider.parseToken(token).getExpiration().toInstant());
+        new PasswordResetToken(user, token.value(), token.claims().expiresAt());
     passwordResetTokenRepository.save(resetToken);
-    return token;
+    authExpiryIndex.trackResetToken(resetToken.getId(), resetToken.getExpiresAt());
+    return token.value();
   }
 
   @Transactional
   public void resetPassword(String token, String newPassword) {
+    if (mode == ResetMode.STATELESS) {
+      resetPasswordStateless(token, newPassword);
+      return;
+    }
     PasswordResetToken resetToken =
         passwordResetTokenRepository
             .findByToken(token)
@@ -63,22 +106,69 @@ public class PasswordResetService {
     if (!resetToken.isUsable()) {
       throw new TokenExpiredException("Token is either expired or already used");
     }
-    jwtTokenProvider.validateToken(token, TokenType.RESET);
-    Email email = new Email(jwtTokenProvider.parseToken(token).getSubject());
+    jwtTokenProvider.verify(token, TokenType.RESET);
+    Password newPasswordHashed = passwordFactory.create(newPassword);
+
+    // Two targeted UPDATEs instead of merging a detached User, which would load its collections.
+    // They are not batched: the conditional markUsed decides which of two concurrent uses of the
+    // token wins, and the loser must stop here, before it locks the user row and writes a hash.
+    if (passwordResetTokenRepository.markUsed(resetToken.getId()) == 0) {
+      throw new TokenExpiredException("Token is either expired or already used");
+    }
+    Long userId = resetToken.getUser().getId();
+    if (userRepository.updatePassword(userId, newPasswordHashed.getHashedPassword()) == 0) {
+      throw new UserNotFoundException("User not found for the provided reset token");
+    }
+    refreshTokenService.revokeAll(userId);
+  }
+
+  private void resetPasswordStateless(String token, String newPassword) {
+    TokenClaims claims = jwtTokenProvider.verify(token, TokenType.RESET);
     User user =
         userRepository
-            .findByEmail(email)
+            .findByEmail(new Email(claims.subject()))
             .orElseThrow(
                 () -> new UserNotFoundException("User not found for the provided reset token"));
-
+    String currentHash = user.getHashedPassword();
+    if (!fingerprintMatches(claims.passwordFingerprint(), currentHash)) {
+      throw new TokenExpiredException("Token is either expired or already used");
+    }
     Password newPasswordHashed = passwordFactory.create(newPassword);
-    User updatedUser = User.withUpdatedPassword(user, newPasswordHashed);
-    entityManager.merge(updatedUser);
+    // Conditional on the old hash, so only one of two concurrent uses of a token can succeed.
+    int updated =
+        userRepository.updateHashedPassword(
+            user.getId(), currentHash, newPasswordHashed.getHashedPassword());
+    if (updated == 0) {
+      throw new TokenExpiredException("Token is either expired or already used");
+    }
+    refreshTokenService.revokeAll(user.getId());
+  }
 
-    resetToken.markAsUsed();
-    passwordResetTokenRepository.save(resetToken);
+  // Keyed with the signing key, so the claim in a readable JWT cannot be checked against a guessed
+  // or leaked password hash.
+  String fingerprint(String hashedPassword) {
+    return fingerprint(jwtTokenProvider.getSecretKey(), hashedPassword);
+  }
 
-    entityManager.flush();
-    entityManager.clear();
+  static String fingerprint(SecretKey key, String hashedPassword) {
+    return TokenDigest.hmacSha256(key, FINGERPRINT_PURPOSE, hashedPassword);
+  }
+
+  // Any key on the ring, so tokens issued before a key rotation stay usable until they expire.
+  private boolean fingerprintMatches(String fingerprint, String hashedPassword) {
+    if (fingerprint == null) {
+      return false;
+    }
+    JwtKeyRing keyRing = jwtTokenProvider.getKeyRing();
+    for (String kid : keyRing.kids()) {
+      SecretKey key = keyRing.find(kid);
+      if (key != null
+          && MessageDigest.isEqual(
+              fingerprint.getBytes(StandardCharsets.US_ASCII),
+              fingerprint(key, hashedPassword).getBytes(StandardCharsets.US_ASCII))) {
+        return true;
+      }
+    }
+    return false;
   }
 }
@@ -0,0 +1,61 @@
+package com.antunes.flashcards.domain.user.auth.reset;
+
+import com.antunes.flashcards.domain.user.exception.ResetThrottledException;
+import com.antunes.flashcards.domain.user.model.Email;
+import com.antunes.flashcards.infrastructure.ratelimit.TokenBucketLimiter;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits how often reset tokens can be requested, per email and per client address, before any
+ * lookup or signing happens.
+ */
+@Component
+public class PasswordResetThrottle {
+  private final boolean enabled;
+  private final TokenBucketLimiter emailLimiter;
+  private final TokenBucketLimiter addressLimiter;
+
+  public PasswordResetThrottle(
+      ClockService clockService,
+      @Value("${spring.reset.throttle.enabled:true}") boolean enabled,
+      @Value("${spring.reset.throttle.email.capacity:3}") int emailCapacity,
+      @Value("${spring.reset.throttle.email.refill-seconds:300}") long emailRefillSeconds,
+      @Value("${spring.reset.throttle.address.capacity:20}") int addressCapacity,
+      @Value("${spring.reset.throttle.address.refill-seconds:30}") long addressRefillSeconds,
+      @Value("${spring.reset.throttle.maximum-keys:100000}") long maximumKeys) {
+    this.enabled = enabled;
+    this.emailLimiter =
+        new TokenBucketLimiter(
+            clockService, emailCapacity, Duration.ofSeconds(emailRefillSeconds), maximumKeys);
+    this.addressLimiter =
+        new TokenBucketLimiter(
+            clockService, addressCapacity, Duration.ofSeconds(addressRefillSeconds), maximumKeys);
+  }
+
+  public void check(Email email, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+    if (clientAddress != null && !addressLimiter.tryAcquire(clientAddress)) {
+      throw new ResetThrottledException("Too many reset requests, please try again later");
+    }
+    if (!emailLimiter.tryAcquire(email.getValue())) {
+      throw new ResetThrottledException("Too many reset requests, please try again later");
+    }
+  }
+
+  public long getThrottledByEmailCount() {
+    return emailLimiter.getThrottledCount();
+  }
+
+  public long getThrottledByAddressCount() {
+    return addressLimiter.getThrottledCount();
+  }
+
+  public long getThrottledCount() {
+    return getThrottledByEmailCount() + getThrottledByAddressCount();
+  }
+}
@@ -0,0 +1,8 @@
+package com.antunes.flashcards.domain.user.auth.reset;
+
+public enum ResetMode {
+  /** Each reset token is stored as a row and marked as used when consumed. */
+  TABLE,
+  /** Tokens carry a fingerprint of the password hash and become invalid once it changes. */
+  STATELESS
+}
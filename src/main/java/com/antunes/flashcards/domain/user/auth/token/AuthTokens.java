@@ -0,0 +1,3 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+public record AuthTokens(String authToken, String refreshToken) {}
@@ -0,0 +1,117 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import com.antunes.flashcards.domain.user.exception.TokenValidationException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * Fixed-width token signed with HMAC-SHA256 by the key ring's active key:
+ *
+ * <pre>
+ * version(1) type(1) kid(8) userId(8) issuedAt(4) expiresAt(4) jti(16) | mac(32)
+ * </pre>
+ *
+ * <p>Times are unsigned epoch seconds. The result is Base64url encoded to 99 characters. The token
+ * carries no subject or password fingerprint, so it is only used for auth tokens.
+ */
+public class BinaryTokenCodec implements TokenCodec {
+  static final byte VERSION = 1;
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int PAYLOAD_BYTES = 1 + 1 + JwtKeyRing.KID_BYTES + 8 + 4 + 4 + 16;
+  private static final int MAC_BYTES = 32;
+  private static final int TOKEN_BYTES = PAYLOAD_BYTES + MAC_BYTES;
+  private static final int ENCODED_LENGTH = (TOKEN_BYTES * 8 + 5) / 6;
+  private static final TokenType[] TYPES = TokenType.values();
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+  private static final ThreadLocal<Mac> MACS =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return Mac.getInstance(ALGORITHM);
+            } catch (GeneralSecurityException e) {
+              throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+          });
+
+  private final JwtKeyRing keyRing;
+
+  public BinaryTokenCodec(JwtKeyRing keyRing) {
+    this.keyRing = keyRing;
+  }
+
+  @Override
+  public String encode(TokenClaims claims, Instant issuedAt) {
+    JwtKeyRing.ActiveKey signingKey = keyRing.active();
+    UUID jti = UUID.fromString(claims.jti());
+    ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES);
+    buffer
+        .put(VERSION)
+        .put((byte) claims.type().ordinal())
+        .put(JwtKeyRing.kidBytes(signingKey.kid()))
+        .putLong(claims.userId())
+        .putInt((int) issuedAt.getEpochSecond())
+        .putInt((int) claims.expiresAt().getEpochSecond())
+        .putLong(jti.getMostSignificantBits())
+        .putLong(jti.getLeastSignificantBits());
+    byte[] bytes = buffer.array();
+    System.arraycopy(mac(signingKey.key(), bytes), 0, bytes, PAYLOAD_BYTES, MAC_BYTES);
+    return ENCODER.encodeToString(bytes);
+  }
+
+  @Override
+  public TokenClaims decode(String token) {
+    if (token.length() != ENCODED_LENGTH) {
+      throw new TokenValidationException("Invalid token");
+    }
+    byte[] bytes;
+    try {
+      bytes = DECODER.decode(token);
+    } catch (IllegalArgumentException e) {
+      throw new TokenValidationException("Invalid token");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    byte version = buffer.get();
+    int type = buffer.get();
+    byte[] kid = new byte[JwtKeyRing.KID_BYTES];
+    buffer.get(kid);
+    SecretKey key = keyRing.find(JwtKeyRing.kidOf(kid));
+    if (version != VERSION || key == null) {
+      throw new TokenValidationException("Invalid token");
+    }
+    byte[] expected = mac(key, bytes);
+    byte[] actual = new byte[MAC_BYTES];
+    System.arraycopy(bytes, PAYLOAD_BYTES, actual, 0, MAC_BYTES);
+    if (!MessageDigest.isEqual(expected, actual)) {
+      throw new TokenValidationException("Invalid token");
+    }
+    long userId = buffer.getLong();
+    buffer.getInt();
+    Instant expiresAt = Instant.ofEpochSecond(Integer.toUnsignedLong(buffer.getInt()));
+    UUID jti = new UUID(buffer.getLong(), buffer.getLong());
+    return new TokenClaims(
+        null,
+        userId,
+        type >= 0 && type < TYPES.length ? TYPES[type] : null,
+        jti.toString(),
+        expiresAt);
+  }
+
+  private static byte[] mac(SecretKey key, byte[] bytes) {
+    Mac mac = MACS.get();
+    try {
+      mac.init(key);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Invalid signing key", e);
+    }
+    mac.update(bytes, 0, PAYLOAD_BYTES);
+    return mac.doFinal();
+  }
+}
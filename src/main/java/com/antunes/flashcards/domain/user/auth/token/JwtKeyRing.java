@@ -0,0 +1,95 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.crypto.SecretKey;
+
+/**
+ * Signing keys indexed by {@code kid}. New tokens are signed with the active key, and any key on
+ * the ring verifies the tokens it signed, so rotating keys does not log everyone out. Each kid is
+ * derived from its key, so every node computes the same id for the same secret. The ring is built
+ * once from configuration at startup and never changes; keys are rotated with a rolling restart.
+ *
+ * <p>Tokens without a {@code kid} were issued before the ring existed, by whichever secret was
+ * active then. The locator tries the active key for them, and {@link #verificationKeys()} lists the
+ * others for codecs to fall back on.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+  static final int KID_BYTES = 8;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  public record ActiveKey(String kid, SecretKey key) {}
+
+  private final Map<String, SecretKey> keys;
+  private final ActiveKey active;
+
+  public JwtKeyRing(SecretKey activeKey) {
+    this(activeKey, List.of());
+  }
+
+  public JwtKeyRing(SecretKey activeKey, List<SecretKey> verificationKeys) {
+    this.active = new ActiveKey(kidOf(activeKey), activeKey);
+    Map<String, SecretKey> ring = new LinkedHashMap<>();
+    ring.put(active.kid(), activeKey);
+    for (SecretKey key : verificationKeys) {
+      ring.putIfAbsent(kidOf(key), key);
+    }
+    this.keys = Collections.unmodifiableMap(ring);
+  }
+
+  public static String kidOf(SecretKey key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+      return kidOf(Arrays.copyOf(digest, KID_BYTES));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** The kid for its raw {@value #KID_BYTES} bytes, as carried by binary tokens. */
+  static String kidOf(byte[] kidBytes) {
+    return ENCODER.encodeToString(kidBytes);
+  }
+
+  static byte[] kidBytes(String kid) {
+    return Base64.getUrlDecoder().decode(kid);
+  }
+
+  public ActiveKey active() {
+    return active;
+  }
+
+  public SecretKey find(String kid) {
+    return kid == null ? null : keys.get(kid);
+  }
+
+  public Set<String> kids() {
+    return keys.keySet();
+  }
+
+  /** The keys that only verify, in configuration order. */
+  public List<SecretKey> verificationKeys() {
+    return keys.values().stream().skip(1).toList();
+  }
+
+  @Override
+  protected Key locate(JwsHeader header) {
+    String kid = header.getKeyId();
+    SecretKey key = kid == null ? active.key() : find(kid);
+    if (key == null) {
+      throw new JwtException("Unknown signing key");
+    }
+    return key;
+  }
+}
@@ -0,0 +1,113 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
+import com.antunes.flashcards.domain.user.exception.TokenValidationException;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import javax.crypto.SecretKey;
+
+public class JwtTokenCodec implements TokenCodec {
+  static final String PASSWORD_FINGERPRINT_CLAIM = "pwd";
+
+  private final JwtKeyRing keyRing;
+  // Parsers are immutable and thread-safe, so one is built per key ring instead of per call; the
+  // ring picks the verification key by kid.
+  private final JwtParser jwtParser;
+  // One per verification key, for tokens without a kid that the active key did not sign.
+  private final List<JwtParser> legacyParsers;
+
+  public JwtTokenCodec(JwtKeyRing keyRing) {
+    this.keyRing = keyRing;
+    this.jwtParser = Jwts.parser().keyLocator(keyRing).build();
+    this.legacyParsers =
+        keyRing.verificationKeys().stream()
+            .map(key -> Jwts.parser().keyLocator(new LegacyKeyLocator(key)).build())
+            .toList();
+  }
+
+  @Override
+  public String encode(TokenClaims claims, Instant issuedAt) {
+    JwtKeyRing.ActiveKey signingKey = keyRing.active();
+    JwtBuilder builder =
+        Jwts.builder()
+            .header()
+            .keyId(signingKey.kid())
+            .and()
+            .subject(claims.subject())
+            .claim("userId", claims.userId())
+            .claim("type", claims.type().name())
+            .id(claims.jti())
+            .issuedAt(Date.from(issuedAt))
+            .expiration(Date.from(claims.expiresAt()));
+    if (claims.passwordFingerprint() != null) {
+      builder.claim(PASSWORD_FINGERPRINT_CLAIM, claims.passwordFingerprint());
+    }
+    return builder.signWith(signingKey.key()).compact();
+  }
+
+  @Override
+  public TokenClaims decode(String token) {
+    try {
+      Claims claims = parse(token);
+      Date expiration = claims.getExpiration();
+      return new TokenClaims(
+          claims.getSubject(),
+          claims.get("userId", Long.class),
+          typeOf(claims.get("type", String.class)),
+          claims.getId(),
+          expiration == null ? null : expiration.toInstant(),
+          claims.get(PASSWORD_FINGERPRINT_CLAIM, String.class));
+    } catch (ExpiredJwtException e) {
+      throw new TokenExpiredException("Token has expired");
+    } catch (JwtException e) {
+      throw new TokenValidationException("Invalid token");
+    }
+  }
+
+  public Claims parse(String token) {
+    try {
+      return jwtParser.parseSignedClaims(token).getPayload();
+    } catch (SignatureException e) {
+      for (JwtParser legacyParser : legacyParsers) {
+        try {
+          return legacyParser.parseSignedClaims(token).getPayload();
+        } catch (SignatureException ignored) {
+          // Signed with another key, or not at all.
+        }
+      }
+      throw e;
+    }
+  }
+
+  // Hands out its key only to tokens without a kid; tokens with one were checked against theirs.
+  private static class LegacyKeyLocator extends LocatorAdapter<Key> {
+    private final SecretKey key;
+
+    LegacyKeyLocator(SecretKey key) {
+      this.key = key;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+      if (header.getKeyId() != null) {
+        throw new JwtException("Unknown signing key");
+      }
+      return key;
+    }
+  }
+
+  private static TokenType typeOf(String type) {
+    if (type == null) {
+      return null;
+    }
+    try {
+      return TokenType.valueOf(type);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
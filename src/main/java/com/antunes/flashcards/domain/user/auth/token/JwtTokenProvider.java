@@ -2,15 +2,19 @@ package com.antunes.flashcards.domain.user.auth.token;
 
 import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
 import com.antunes.flashcards.domain.user.exception.TokenValidationException;
-import io.jsonwebtoken.*;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Date;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -19,75 +23,196 @@ public class JwtTokenProvider {
   @Value("${spring.jwt.secret}")
   private String secret;
 
-  private SecretKey secretKey;
+  // Comma-separated secrets that were replaced but may still have signed live tokens. Keys are
+  // rotated through these two properties and a rolling restart, see docs/signing-key-rotation.md.
+  @Value("${spring.jwt.previous-secrets:}")
+  private String previousSecrets;
+
+  @Value("${spring.jwt.cache.enabled:true}")
+  private boolean tokenCacheEnabled;
+
+  @Value("${spring.jwt.cache.maximum-size:10000}")
+  private long tokenCacheMaximumSize;
+
+  private JwtKeyRing keyRing;
+
+  private VerifiedTokenCache tokenCache = new VerifiedTokenCache(10_000);
+
+  private TokenRevocationList revocationList;
+
+  // Codec for auth tokens, "jwt" or "binary". Reset tokens carry a subject and a password
+  // fingerprint, so they are always JWTs.
+  @Value("${spring.jwt.auth-codec:jwt}")
+  private String authCodecName = "jwt";
+
+  // Both codecs share the key ring, so rotation applies to either format.
+  private JwtTokenCodec jwtCodec;
+  private BinaryTokenCodec binaryCodec;
+  private TokenCodec authCodec;
 
   private final Duration AUTH_TOKEN_DURATION = Duration.ofHours(1);
   private final Duration RESET_TOKEN_DURATION = Duration.ofMinutes(15);
 
   @PostConstruct
   public void init() {
-    this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    setTokenCache(tokenCacheEnabled ? new VerifiedTokenCache(tokenCacheMaximumSize) : null);
+    List<SecretKey> previousKeys = new ArrayList<>();
+    for (String previous : previousSecrets.split(",")) {
+      if (!previous.isBlank()) {
+        previousKeys.add(hmacKey(previous.trim()));
+      }
+    }
+    setSecretKeys(hmacKey(secret), previousKeys);
   }
 
+  private static SecretKey hmacKey(String secret) {
+    return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Replaces the whole key ring with a single key, invalidating every token signed before. */
   public void setSecretKey(SecretKey secretKey) {
-    this.secretKey = secretKey;
+    setSecretKeys(secretKey, List.of());
+  }
+
+  /** Replaces the key ring: new tokens are signed with the first key, any of them verifies. */
+  public void setSecretKeys(SecretKey activeKey, List<SecretKey> previousKeys) {
+    this.keyRing = new JwtKeyRing(activeKey, previousKeys);
+    this.jwtCodec = new JwtTokenCodec(keyRing);
+    this.binaryCodec = new BinaryTokenCodec(keyRing);
+    setAuthCodec(authCodecName);
+    if (tokenCache != null) {
+      tokenCache.invalidateAll();
+    }
+  }
+
+  /** Selects the format of new auth tokens. Tokens in either format keep verifying. */
+  public void setAuthCodec(String name) {
+    this.authCodec =
+        switch (name.trim().toLowerCase()) {
+          case "jwt" -> jwtCodec;
+          case "binary" -> binaryCodec;
+          default -> throw new IllegalArgumentException("Unknown token codec: " + name);
+        };
+    this.authCodecName = name;
+  }
+
+  public JwtKeyRing getKeyRing() {
+    return keyRing;
+  }
+
+  public void setTokenCache(VerifiedTokenCache tokenCache) {
+    this.tokenCache = tokenCache;
+  }
+
+  @Autowired(required = false)
+  public void setRevocationList(TokenRevocationList revocationList) {
+    this.revocationList = revocationList;
+  }
+
+  public CacheStats getTokenCacheStats() {
+    return tokenCache == null ? CacheStats.empty() : tokenCache.stats();
   }
 
   public SecretKey getSecretKey() {
-    return this.secretKey;
+    return keyRing.active().key();
   }
 
-  private Instant buildExpiration(Duration duration) {
-    return Instant.now().plus(duration);
+  // JWT dates have second precision, truncating keeps the returned claims equal to parsed ones.
+  private Instant now() {
+    return Instant.now().truncatedTo(ChronoUnit.SECONDS);
   }
 
   public String generateAuthToken(String subject, Long userId) {
-    return Jwts.builder()
-        .subject(subject)
-        .claim("userId", userId)
-        .claim("type", TokenType.AUTH.name())
-        .issuedAt(Date.from(Instant.now()))
-        .expiration(Date.from(buildExpiration(AUTH_TOKEN_DURATION)))
-        .signWith(secretKey)
-        .compact();
+    Instant issuedAt = now();
+    TokenClaims claims =
+        new TokenClaims(
+            subject,
+            userId,
+            TokenType.AUTH,
+            UUID.randomUUID().toString(),
+            issuedAt.plus(AUTH_TOKEN_DURATION));
+    return authCodec.encode(claims, issuedAt);
   }
 
   public String generateResetToken(String subject, Long userId) {
-    return Jwts.builder()
-        .subject(subject)
-        .claim("userId", userId)
-        .claim("type", TokenType.RESET.name())
-        .claim("jti", UUID.randomUUID().toString())
-        .issuedAt(Date.from(Instant.now()))
-        .expiration(Date.from(buildExpiration(RESET_TOKEN_DURATION)))
-        .signWith(secretKey)
-        .compact();
+    return issueResetToken(subject, userId).value();
   }
 
-  public void validateToken(String token, TokenType expectedType) {
+  public IssuedToken issueResetToken(String subject, Long userId) {
+    return issueResetToken(subject, userId, null);
+  }
+
+  public IssuedToken issueResetToken(String subject, Long userId, String passwordFingerprint) {
+    Instant issuedAt = now();
+    TokenClaims claims =
+        new TokenClaims(
+            subject,
+            userId,
+            TokenType.RESET,
+            UUID.randomUUID().toString(),
+            issuedAt.plus(RESET_TOKEN_DURATION),
+            passwordFingerprint);
+    return new IssuedToken(jwtCodec.encode(claims, issuedAt), claims);
+  }
+
+  public TokenClaims verify(String token, TokenType expectedType) {
     if (token == null || token.isBlank()) {
       throw new TokenValidationException("Token cannot be null or blank");
     }
-    try {
-      Jws<Claims> claimsJws = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
-
-      Date expiration = claimsJws.getPayload().getExpiration();
-      if (expiration != null && expiration.before(new Date())) {
-        throw new TokenExpiredException("Token has expired");
+    TokenClaims claims = tokenCache == null ? null : tokenCache.get(token);
+    if (claims != null) {
+      checkCached(token, claims, expectedType);
+    } else {
+      claims = parseAndCheck(token, expectedType);
+      if (tokenCache != null) {
+        tokenCache.put(token, claims);
       }
+    }
+    if (revocationList != null && revocationList.isRevoked(claims.jti())) {
+      throw new TokenValidationException("Token has been revoked");
+    }
+    return claims;
+  }
 
-      String type = claimsJws.getPayload().get("type", String.class);
-      if (!expectedType.name().equals(type)) {
-        throw new TokenValidationException("Unexpected token type");
-      }
-    } catch (ExpiredJwtException e) {
+  public void revoke(String token) {
+    if (revocationList == null) {
+      throw new IllegalStateException("Token revocation is not configured");
+    }
+    TokenClaims claims = verify(token, TokenType.AUTH);
+    revocationList.revoke(claims.jti(), claims.expiresAt());
+    if (tokenCache != null) {
+      tokenCache.invalidate(token);
+    }
+  }
+
+  private void checkCached(String token, TokenClaims cached, TokenType expectedType) {
+    if (!cached.expiresAt().isAfter(Instant.now())) {
+      tokenCache.invalidate(token);
       throw new TokenExpiredException("Token has expired");
-    } catch (JwtException e) {
-      throw new TokenValidationException("Invalid token");
     }
+    if (cached.type() != expectedType) {
+      throw new TokenValidationException("Unexpected token type");
+    }
+  }
+
+  private TokenClaims parseAndCheck(String token, TokenType expectedType) {
+    // JWTs always contain dots, the Base64url binary format never does.
+    TokenCodec codec = token.indexOf('.') >= 0 ? jwtCodec : binaryCodec;
+    TokenClaims claims = codec.decode(token);
+    if (claims.expiresAt() != null && !claims.expiresAt().isAfter(Instant.now())) {
+      throw new TokenExpiredException("Token has expired");
+    }
+    if (claims.type() != expectedType) {
+      throw new TokenValidationException("Unexpected token type");
+    }
+    return claims;
+  }
+
+  public void validateToken(String token, TokenType expectedType) {
+    verify(token, expectedType);
   }
 
   public Claims parseToken(String token) {
-    return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+    return jwtCodec.parse(token);
   }
 }
@@ -0,0 +1,16 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import java.time.Instant;
+
+public record TokenClaims(
+    String subject,
+    Long userId,
+    TokenType type,
+    String jti,
+    Instant expiresAt,
+    String passwordFingerprint) {
+
+  public TokenClaims(String subject, Long userId, TokenType type, String jti, Instant expiresAt) {
+    this(subject, userId, type, jti, expiresAt, null);
+  }
+}
@@ -0,0 +1,13 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import java.time.Instant;
+
+/**
+ * Turns token claims into a signed string and back. {@link #decode} checks the signature and the
+ * format only; expiry and type are checked by {@link JwtTokenProvider}.
+ */
+public interface TokenCodec {
+  String encode(TokenClaims claims, Instant issuedAt);
+
+  TokenClaims decode(String token);
+}
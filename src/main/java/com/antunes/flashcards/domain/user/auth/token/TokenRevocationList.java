@@ -0,0 +1,165 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import com.antunes.flashcards.domain.user.auth.model.RevokedToken;
+import com.antunes.flashcards.domain.user.auth.repository.RevokedTokenRepository;
+import com.antunes.flashcards.infrastructure.filter.BloomFilter;
+import com.antunes.flashcards.infrastructure.scheduling.SchedulerLeaseService;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked token ids, kept only until the tokens they belong to expire. A Bloom filter answers the
+ * common case, a token that was never revoked, without touching the set. Revocations are written to
+ * the database and new ones from other nodes are pulled in on refresh, by the revocation time the
+ * database stamps at insert, compared with the database time of the previous refresh. Every {@code
+ * spring.jwt.revocation.reload-millis} all unexpired revocations are read again, in case a refresh
+ * missed one. Since a Bloom filter cannot forget, it is rebuilt from the remaining ids whenever
+ * expired ones are pruned. Every node prunes its own set, but expired rows are deleted from the
+ * database by one node at a time, under a lease.
+ */
+@Component
+public class TokenRevocationList {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+  // Overlap between refreshes so revocations that commit after a later one are not missed.
+  private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+  static final String REVOKED_TOKEN_CLEANUP = "revoked-token-cleanup";
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final ClockService clockService;
+  private final SchedulerLeaseService schedulerLeaseService;
+  private final long expectedRevocations;
+  private final double falsePositiveRate;
+  private final Duration leaseAtMostFor;
+  private final Duration leaseAtLeastFor;
+
+  private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+  private final Object writeLock = new Object();
+  private volatile BloomFilter filter;
+  // Database time of the last refresh.
+  private Instant lastRefresh = Instant.EPOCH;
+
+  public TokenRevocationList(
+      RevokedTokenRepository revokedTokenRepository,
+      ClockService clockService,
+      SchedulerLeaseService schedulerLeaseService,
+      @Value("${spring.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+      @Value("${spring.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+      @Value("${spring.jwt.revocation.prune-lease-millis:50000}") long leaseMillis,
+      @Value("${spring.jwt.revocation.prune-min-lease-millis:50000}") long minLeaseMillis) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.clockService = clockService;
+    this.schedulerLeaseService = schedulerLeaseService;
+    this.expectedRevocations = expectedRevocations;
+    this.falsePositiveRate = falsePositiveRate;
+    this.leaseAtMostFor = Duration.ofMillis(leaseMillis);
+    this.leaseAtLeastFor = Duration.ofMillis(minLeaseMillis);
+    this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+  }
+
+  public boolean isRevoked(String jti) {
+    return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+  }
+
+  public void revoke(String jti, Instant expiresAt) {
+    revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+    add(jti, expiresAt);
+  }
+
+  private void add(String jti, Instant expiresAt) {
+    synchronized (writeLock) {
+      revoked.put(jti, expiresAt);
+      filter.put(jti);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void load() {
+    // Read first, so revocations committed while loading are covered by the next refresh.
+    Instant databaseNow = revokedTokenRepository.currentInstant();
+    logger.info("Loaded {} revoked tokens", reload());
+    lastRefresh = databaseNow;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${spring.jwt.revocation.reload-millis:3600000}",
+      initialDelayString = "${spring.jwt.revocation.reload-millis:3600000}")
+  public void scheduledReload() {
+    try {
+      reload();
+    } catch (RuntimeException e) {
+      logger.warn("Could not reload revoked tokens, will retry", e);
+    }
+  }
+
+  public int reload() {
+    Instant now = clockService.getClock().instant();
+    List<RevokedToken> tokens = revokedTokenRepository.findAllByExpiresAtAfter(now);
+    tokens.forEach(token -> add(token.getJti(), token.getExpiresAt()));
+    return tokens.size();
+  }
+
+  @Scheduled(fixedDelayString = "${spring.jwt.revocation.refresh-millis:5000}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      logger.warn("Could not refresh revoked tokens, will retry", e);
+    }
+  }
+
+  public synchronized void refresh() {
+    Instant databaseNow = revokedTokenRepository.currentInstant();
+    Instant now = clockService.getClock().instant();
+    revokedTokenRepository
+        .findAllByRevokedAtAfterAndExpiresAtAfter(lastRefresh.minus(REFRESH_OVERLAP), now)
+        .forEach(token -> add(token.getJti(), token.getExpiresAt()));
+    lastRefresh = databaseNow;
+  }
+
+  @Scheduled(fixedDelayString = "${spring.jwt.revocation.prune-millis:60000}")
+  public void scheduledPrune() {
+    try {
+      prune();
+    } catch (RuntimeException e) {
+      logger.warn("Could not prune revoked tokens, will retry", e);
+    }
+  }
+
+  public int prune() {
+    Instant now = clockService.getClock().instant();
+    int pruned;
+    synchronized (writeLock) {
+      int before = revoked.size();
+      revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+      pruned = before - revoked.size();
+      BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+      revoked.keySet().forEach(rebuilt::put);
+      filter = rebuilt;
+    }
+    schedulerLeaseService.runExclusively(
+        REVOKED_TOKEN_CLEANUP,
+        leaseAtMostFor,
+        leaseAtLeastFor,
+        () -> revokedTokenRepository.deleteExpired(now));
+    return pruned;
+  }
+
+  public int size() {
+    return revoked.size();
+  }
+
+  public long getMemoryBytes() {
+    return filter.memoryBytes();
+  }
+}
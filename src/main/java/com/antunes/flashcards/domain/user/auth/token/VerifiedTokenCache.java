@@ -0,0 +1,71 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.time.Instant;
+
+public class VerifiedTokenCache {
+  private final Cache<String, TokenClaims> cache;
+
+  public VerifiedTokenCache(long maximumSize) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+  }
+
+  private static class UntilTokenExpiry implements Expiry<String, TokenClaims> {
+    @Override
+    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, TokenClaims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, TokenClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  public TokenClaims get(String token) {
+    return cache.getIfPresent(TokenDigest.sha256(token));
+  }
+
+  public void put(String token, TokenClaims claims) {
+    if (claims.expiresAt() == null) {
+      return;
+    }
+    cache.put(TokenDigest.sha256(token), claims);
+  }
+
+  public void invalidate(String token) {
+    cache.invalidate(TokenDigest.sha256(token));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public void cleanUp() {
+    cache.cleanUp();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+}
@@ -0,0 +1,7 @@
+package com.antunes.flashcards.domain.user.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+  public PasswordHashingRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.antunes.flashcards.domain.user.exception;
+
+public class ResetThrottledException extends RuntimeException {
+  public ResetThrottledException(String message) {
+    // Thrown on the hot path of abusive clients, so skip the stack trace.
+    super(message, null, false, false);
+  }
+}
@@ -1,6 +1,6 @@
 package com.antunes.flashcards.domain.user.model;
 
-import com.antunes.flashcards.domain.user.exception.EmailValidationException;
+import com.antunes.flashcards.domain.user.validation.CredentialValidator;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
 
@@ -11,13 +11,7 @@ public class Email {
   protected Email() {}
 
   public Email(String rawEmail) {
-    if (rawEmail == null) {
-      throw new EmailValidationException("Email cannot be null");
-    }
-    if (!rawEmail.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-      throw new EmailValidationException("Not a valid email");
-    }
-    this.rawEmail = rawEmail.toLowerCase();
+    this.rawEmail = CredentialValidator.normalizeEmail(rawEmail);
   }
 
   @Override
@@ -4,14 +4,23 @@ import com.antunes.flashcards.domain.deck.model.Deck;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
 import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
 import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
+import com.antunes.flashcards.domain.user.auth.model.RefreshToken;
+import com.antunes.flashcards.domain.user.service.RegisteredEmailListener;
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import lombok.Getter;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "rawEmail"),
+    indexes = @Index(name = "idx_users_registered_at", columnList = "registered_at"))
+@EntityListeners(RegisteredEmailListener.class)
 public class User {
+  public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
   @Getter
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +30,14 @@ public class User {
 
   @Embedded private Password password;
 
+  // Stamped by the database at insert, so nodes can page through registrations on its clock.
+  @Column(
+      name = "registered_at",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "timestamp(6) with time zone default current_timestamp not null")
+  private Instant registeredAt;
+
   @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Flashcard> flashcards;
 
@@ -30,6 +47,9 @@ public class User {
   @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<PasswordResetToken> passwordResetTokens;
 
+  @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+  private List<RefreshToken> refreshTokens;
+
   @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
   private LoginAttempt loginAttempt;
 
@@ -54,18 +74,10 @@ public class User {
   }
 
   public String getEmail() {
-    return email.getValue();
+    return email == null ? null : email.getValue();
   }
 
   public String getHashedPassword() {
     return password.getHashedPassword();
   }
-
-  public static User withUpdatedPassword(User original, Password newPasswordHash) {
-    User updated = new User();
-    updated.id = original.id;
-    updated.email = original.email;
-    updated.password = newPasswordHash;
-    return updated;
-  }
 }
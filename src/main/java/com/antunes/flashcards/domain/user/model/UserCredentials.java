@@ -0,0 +1,30 @@
+package com.antunes.flashcards.domain.user.model;
+
+import com.antunes.flashcards.domain.user.auth.model.LoginAttemptSnapshot;
+import java.time.LocalDateTime;
+
+/** Read-only view of the columns a login needs, loaded without hydrating a {@link User}. */
+public record UserCredentials(
+    Long userId,
+    String email,
+    String hashedPassword,
+    Long loginAttemptId,
+    LoginAttemptSnapshot loginAttempt) {
+
+  public UserCredentials(
+      Long userId,
+      String email,
+      String hashedPassword,
+      Long loginAttemptId,
+      Integer attemptCount,
+      LocalDateTime lastAttemptTime,
+      LocalDateTime lockedUntil) {
+    this(
+        userId,
+        email,
+        hashedPassword,
+        loginAttemptId,
+        new LoginAttemptSnapshot(
+            attemptCount == null ? 0 : attemptCount, lastAttemptTime, lockedUntil));
+  }
+}
@@ -2,11 +2,61 @@ package com.antunes.flashcards.domain.user.repository;
 
 import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(Email email);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT u.email.rawEmail FROM User u")
+  Stream<String> streamAllEmails();
+
+  @Query("SELECT instant")
+  Instant currentInstant();
+
+  @Query("SELECT u.email.rawEmail FROM User u WHERE u.registeredAt > :since")
+  List<String> findEmailsRegisteredSince(@Param("since") Instant since);
+
+  boolean existsByEmail(Email email);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT u.id FROM User u WHERE u.id = :id")
+  Optional<Long> lockById(@Param("id") Long id);
+
+  @Query(
+      "SELECT new com.antunes.flashcards.domain.user.model.UserCredentials(u.id,"
+          + " u.email.rawEmail, u.password.hashedPassword, a.id, a.attemptCount,"
+          + " a.lastAttemptTime, a.lockedUntil)"
+          + " FROM User u LEFT JOIN u.loginAttempt a WHERE u.email = :email")
+  Optional<UserCredentials> findCredentialsByEmail(@Param("email") Email email);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE User u SET u.password.hashedPassword = :newHash"
+          + " WHERE u.id = :id AND u.password.hashedPassword = :expectedHash")
+  int updateHashedPassword(
+      @Param("id") Long id,
+      @Param("expectedHash") String expectedHash,
+      @Param("newHash") String newHash);
+
+  @Modifying
+  @Query("UPDATE User u SET u.password.hashedPassword = :newHash WHERE u.id = :id")
+  int updatePassword(@Param("id") Long id, @Param("newHash") String newHash);
 }
@@ -0,0 +1,210 @@
+package com.antunes.flashcards.domain.user.service;
+
+import com.antunes.flashcards.domain.user.model.Email;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.infrastructure.filter.BloomFilter;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filter over registered emails, consulted before any lookup by email. A negative answer
+ * means the email is definitely not registered; until the startup load finishes every email is
+ * reported as possibly registered.
+ *
+ * <p>Users persisted on this node are added as they are saved. Users registered on other nodes are
+ * pulled in on refresh by {@code users.registered_at}, which the database stamps when the insert
+ * runs. Each refresh re-reads {@code spring.users.email-filter.overlap-millis} before the database
+ * time of the previous one, so a registration that commits late, or after a later one, is still
+ * picked up as long as its transaction was shorter than the overlap.
+ *
+ * <p>Because the filter can lag behind the other nodes, a negative is confirmed by a refresh that
+ * starts after the question was asked; concurrent callers share one refresh. If that refresh fails
+ * the email is reported as possibly registered. The filter is also rebuilt from scratch every
+ * {@code spring.users.email-filter.rebuild-millis}, which drops deleted users and repairs anything
+ * the refreshes missed.
+ */
+@Component
+public class RegisteredEmailFilter {
+  private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+  private final UserRepository userRepository;
+  private final long expectedInsertions;
+  private final double falsePositiveRate;
+  private final boolean enabled;
+  private final Duration overlap;
+  private final AtomicLong refreshes = new AtomicLong();
+  private final Object writeLock = new Object();
+  private volatile BloomFilter filter;
+  private BloomFilter rebuilding;
+  private volatile boolean ready;
+  private Instant refreshedAt;
+
+  public RegisteredEmailFilter(long expectedInsertions, double falsePositiveRate) {
+    this(null, true, expectedInsertions, falsePositiveRate, 0);
+  }
+
+  @Autowired
+  public RegisteredEmailFilter(
+      UserRepository userRepository,
+      @Value("${spring.users.email-filter.enabled:true}") boolean enabled,
+      @Value("${spring.users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${spring.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${spring.users.email-filter.overlap-millis:60000}") long overlapMillis) {
+    this.userRepository = userRepository;
+    this.enabled = enabled;
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveRate = falsePositiveRate;
+    this.overlap = Duration.ofMillis(overlapMillis);
+    this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void load() {
+    if (!enabled || userRepository == null) {
+      return;
+    }
+    long loaded = rebuildFilter();
+    markReady();
+    BloomFilter loadedFilter = filter;
+    logger.info(
+        "Registered email filter ready: {} emails, {} KiB, {} hashes, false positive rate {}",
+        loaded,
+        loadedFilter.memoryBytes() / 1024,
+        loadedFilter.hashCount(),
+        String.format("%.5f", loadedFilter.expectedFalsePositiveRate()));
+  }
+
+  @Scheduled(
+      fixedDelayString = "${spring.users.email-filter.rebuild-millis:21600000}",
+      initialDelayString = "${spring.users.email-filter.rebuild-millis:21600000}")
+  @Transactional
+  public void rebuild() {
+    if (!enabled || userRepository == null || !ready) {
+      return;
+    }
+    try {
+      logger.info("Rebuilt registered email filter with {} emails", rebuildFilter());
+    } catch (RuntimeException e) {
+      logger.warn("Could not rebuild registered email filter, will retry", e);
+    }
+  }
+
+  private long rebuildFilter() {
+    BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+    synchronized (writeLock) {
+      rebuilding = rebuilt;
+    }
+    try {
+      // Read first, so users inserted while streaming are covered by the next refresh.
+      Instant startedAt = userRepository.currentInstant();
+      long loaded;
+      try (Stream<String> emails = userRepository.streamAllEmails()) {
+        loaded = emails.peek(rebuilt::put).count();
+      }
+      if (loaded > expectedInsertions) {
+        logger.warn(
+            "Loaded {} emails into a filter sized for {}, false positives will exceed the target",
+            loaded,
+            expectedInsertions);
+      }
+      synchronized (this) {
+        // A refresh that ran meanwhile went into the old filter; rewinding makes the next one
+        // read it again.
+        if (refreshedAt == null || startedAt.isBefore(refreshedAt)) {
+          refreshedAt = startedAt;
+        }
+        synchronized (writeLock) {
+          filter = rebuilt;
+        }
+      }
+      return loaded;
+    } finally {
+      synchronized (writeLock) {
+        rebuilding = null;
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${spring.users.email-filter.refresh-millis:5000}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      logger.warn("Could not refresh registered emails, will retry", e);
+    }
+  }
+
+  public void refresh() {
+    refreshAfter(refreshes.get());
+  }
+
+  // Runs a refresh unless one started after the caller read {@code seen}.
+  private synchronized void refreshAfter(long seen) {
+    if (!enabled || userRepository == null || !ready || refreshes.get() != seen) {
+      return;
+    }
+    refreshes.incrementAndGet();
+    Instant now = userRepository.currentInstant();
+    for (String email : userRepository.findEmailsRegisteredSince(refreshedAt.minus(overlap))) {
+      put(email);
+    }
+    refreshedAt = now;
+  }
+
+  public void markReady() {
+    this.ready = true;
+  }
+
+  public void add(Email email) {
+    put(email.getValue());
+  }
+
+  private void put(String email) {
+    synchronized (writeLock) {
+      filter.put(email);
+      if (rebuilding != null) {
+        rebuilding.put(email);
+      }
+    }
+  }
+
+  public boolean mightContain(Email email) {
+    if (!enabled || !ready || filter.mightContain(email.getValue())) {
+      return true;
+    }
+    if (userRepository == null) {
+      return false;
+    }
+    try {
+      refreshAfter(refreshes.get());
+    } catch (RuntimeException e) {
+      logger.warn("Could not confirm an unknown email against the database", e);
+      return true;
+    }
+    return filter.mightContain(email.getValue());
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public long getMemoryBytes() {
+    return filter.memoryBytes();
+  }
+
+  public double getFalsePositiveRate() {
+    return filter.expectedFalsePositiveRate();
+  }
+}
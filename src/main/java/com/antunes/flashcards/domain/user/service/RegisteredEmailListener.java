@@ -0,0 +1,24 @@
+package com.antunes.flashcards.domain.user.service;
+
+import com.antunes.flashcards.domain.user.model.Email;
+import com.antunes.flashcards.domain.user.model.User;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RegisteredEmailListener {
+  private final ObjectProvider<RegisteredEmailFilter> registeredEmailFilter;
+
+  public RegisteredEmailListener(ObjectProvider<RegisteredEmailFilter> registeredEmailFilter) {
+    this.registeredEmailFilter = registeredEmailFilter;
+  }
+
+  @PostPersist
+  public void onPersist(User user) {
+    String rawEmail = user.getEmail();
+    if (rawEmail != null) {
+      registeredEmailFilter.ifAvailable(filter -> filter.add(new Email(rawEmail)));
+    }
+  }
+}
@@ -7,8 +7,12 @@ import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.Password;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,34 +21,79 @@ public class UserService {
   private final UserRepository userRepository;
   private final PasswordFactory passwordFactory;
   private final PasswordValidator passwordValidator;
+  private final RegisteredEmailFilter registeredEmailFilter;
 
   @Autowired
   public UserService(
       UserRepository userRepository,
       PasswordFactory passwordFactory,
-      PasswordValidator passwordValidator) {
+      PasswordValidator passwordValidator,
+      RegisteredEmailFilter registeredEmailFilter) {
     this.userRepository = userRepository;
     this.passwordFactory = passwordFactory;
     this.passwordValidator = passwordValidator;
+    this.registeredEmailFilter = registeredEmailFilter;
   }
 
   public boolean emailExists(Email email) {
-    return userRepository.findByEmail(email).isPresent();
+    if (!registeredEmailFilter.mightContain(email)) {
+      return false;
+    }
+    return userRepository.existsByEmail(email);
   }
 
   public Optional<User> findByEmail(String rawEmail) {
     Email email = new Email(rawEmail);
+    if (!registeredEmailFilter.mightContain(email)) {
+      return Optional.empty();
+    }
     return userRepository.findByEmail(email);
   }
 
-  public User register(String rawEmail, String rawPassword) {
+  private Email assertEmailAvailable(String rawEmail) {
     Email email = new Email(rawEmail);
     if (emailExists(email)) {
       throw new ExistingEmailException("Email already exists");
     }
+    return email;
+  }
+
+  public User register(String rawEmail, String rawPassword) {
+    Email email = assertEmailAvailable(rawEmail);
     passwordValidator.assertValid(rawPassword);
     Password password = passwordFactory.create(rawPassword);
     User user = new User(email, password);
-    return userRepository.save(user);
+    return save(user);
+  }
+
+  public CompletableFuture<User> registerAsync(String rawEmail, String rawPassword) {
+    Email email = assertEmailAvailable(rawEmail);
+    return passwordFactory
+        .createAsync(rawPassword)
+        .thenApply(password -> save(new User(email, password)));
+  }
+
+  private User save(User user) {
+    try {
+      return userRepository.save(user);
+    } catch (DataIntegrityViolationException e) {
+      if (isDuplicateEmail(e)) {
+        throw new ExistingEmailException("Email already exists");
+      }
+      throw e;
+    }
+  }
+
+  // Databases report the constraint name with their own case and decorations, e.g. H2 returns
+  // PUBLIC.UK_USERS_EMAIL_INDEX_4.
+  static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        String constraint = violation.getConstraintName();
+        return constraint != null
+            && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+      }
+    }
+    return false;
   }
 }
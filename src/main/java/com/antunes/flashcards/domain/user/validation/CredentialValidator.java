@@ -0,0 +1,93 @@
+package com.antunes.flashcards.domain.user.validation;
+
+import com.antunes.flashcards.domain.user.exception.EmailValidationException;
+import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
+
+/**
+ * Email and password checks that walk the input once, without regex matching or char streams. Rules
+ * and messages are those of the former {@code Email} regex and {@code PasswordValidator}.
+ */
+public final class CredentialValidator {
+  public static final int MIN_PASSWORD_LENGTH = 8;
+
+  private CredentialValidator() {}
+
+  /**
+   * Validates {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$} and returns the email in lower case,
+   * allocating only when it contains upper-case letters.
+   */
+  public static String normalizeEmail(String rawEmail) {
+    if (rawEmail == null) {
+      throw new EmailValidationException("Email cannot be null");
+    }
+    int length = rawEmail.length();
+    int at = -1;
+    boolean hasUpperCase = false;
+    for (int i = 0; i < length; i++) {
+      char c = rawEmail.charAt(i);
+      if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '.' || c == '-') {
+        continue;
+      }
+      if (c >= 'A' && c <= 'Z') {
+        hasUpperCase = true;
+      } else if (c == '@' && at < 0) {
+        at = i;
+      } else if ((c == '+' || c == '_') && at < 0) {
+        continue;
+      } else {
+        throw new EmailValidationException("Not a valid email");
+      }
+    }
+    if (at <= 0 || at == length - 1) {
+      throw new EmailValidationException("Not a valid email");
+    }
+    return hasUpperCase ? toLowerCaseAscii(rawEmail) : rawEmail;
+  }
+
+  private static String toLowerCaseAscii(String value) {
+    char[] chars = new char[value.length()];
+    for (int i = 0; i < chars.length; i++) {
+      char c = value.charAt(i);
+      chars[i] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    return new String(chars);
+  }
+
+  public static void assertValidPassword(String password) {
+    if (password == null) {
+      throw new PasswordValidationException("Password cannot be null");
+    }
+    boolean blank = true;
+    boolean hasUpperCase = false;
+    boolean hasLowerCase = false;
+    boolean hasDigit = false;
+    for (int i = 0; i < password.length(); i++) {
+      char c = password.charAt(i);
+      if (blank && !Character.isWhitespace(c)) {
+        blank = false;
+      }
+      if (Character.isUpperCase(c)) {
+        hasUpperCase = true;
+      } else if (Character.isLowerCase(c)) {
+        hasLowerCase = true;
+      } else if (Character.isDigit(c)) {
+        hasDigit = true;
+      }
+    }
+    if (blank) {
+      throw new PasswordValidationException("Password cannot be blank");
+    }
+    if (password.length() < MIN_PASSWORD_LENGTH) {
+      throw new PasswordValidationException("Password must be at least 8 characters long");
+    }
+    if (!hasUpperCase) {
+      throw new PasswordValidationException("Password must contain an uppercase letter");
+    }
+    if (!hasLowerCase) {
+      throw new PasswordValidationException("Password must contain a lowercase letter");
+    }
+    if (!hasDigit) {
+      throw new PasswordValidationException("Password must contain a number");
+    }
+  }
+}
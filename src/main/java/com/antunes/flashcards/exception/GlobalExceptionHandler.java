@@ -1,7 +1,11 @@
 package com.antunes.flashcards.exception;
 
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardSearchTimeoutException;
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardValidationException;
+import com.antunes.flashcards.domain.pagination.exception.InvalidPageRequestException;
 import com.antunes.flashcards.domain.user.exception.EmailValidationException;
+import com.antunes.flashcards.domain.user.exception.PasswordHashingRejectedException;
+import com.antunes.flashcards.domain.user.exception.ResetThrottledException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -30,4 +34,30 @@ public class GlobalExceptionHandler {
   public ResponseEntity<String> handleEmailValidationException(EmailValidationException ex) {
     return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
   }
+
+  @ExceptionHandler(PasswordHashingRejectedException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<String> handlePasswordHashingRejectedException(
+      PasswordHashingRejectedException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(ResetThrottledException.class)
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  public ResponseEntity<String> handleResetThrottledException(ResetThrottledException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  @ExceptionHandler(InvalidPageRequestException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ResponseEntity<String> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(FlashcardSearchTimeoutException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<String> handleFlashcardSearchTimeoutException(
+      FlashcardSearchTimeoutException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+  }
 }
@@ -1,15 +1,25 @@
 package com.antunes.flashcards.infrastructure.config;
 
+import com.antunes.flashcards.infrastructure.security.CalibratedBCryptPasswordEncoder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class SecurityConfig {
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${spring.security.bcrypt.strength:0}") int strength,
+      @Value("${spring.security.bcrypt.target-hash-millis:250}") long targetHashMillis,
+      @Value("${spring.security.bcrypt.min-strength:10}") int minStrength,
+      @Value("${spring.security.bcrypt.max-strength:14}") int maxStrength) {
+    if (strength > 0) {
+      return new CalibratedBCryptPasswordEncoder(strength);
+    }
+    return CalibratedBCryptPasswordEncoder.calibrate(
+        Duration.ofMillis(targetHashMillis), minStrength, maxStrength);
   }
 }
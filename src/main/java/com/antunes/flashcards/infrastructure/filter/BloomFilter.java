@@ -0,0 +1,121 @@
+package com.antunes.flashcards.infrastructure.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. Bits live in an {@link AtomicLongArray} and are set with
+ * CAS, so concurrent {@code put} and {@code mightContain} calls need no locking.
+ */
+public class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashCount;
+  private final AtomicLong insertions = new AtomicLong();
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    long optimalBits =
+        (long)
+            Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = Math.toIntExact((optimalBits + 63) / 64);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitSize = (long) wordCount * 64;
+    this.hashCount =
+        Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+  }
+
+  public boolean put(CharSequence value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1;
+    boolean changed = false;
+    for (int i = 0; i < hashCount; i++) {
+      changed |= setBit(Long.remainderUnsigned(hash1 + i * hash2, bitSize));
+    }
+    if (changed) {
+      insertions.incrementAndGet();
+    }
+    return changed;
+  }
+
+  public boolean mightContain(CharSequence value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      if (!getBit(Long.remainderUnsigned(hash1 + i * hash2, bitSize))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean setBit(long index) {
+    int word = (int) (index >>> 6);
+    long mask = 1L << index;
+    long current;
+    do {
+      current = words.get(word);
+      if ((current & mask) != 0) {
+        return false;
+      }
+    } while (!words.compareAndSet(word, current, current | mask));
+    return true;
+  }
+
+  private boolean getBit(long index) {
+    return (words.get((int) (index >>> 6)) & (1L << index)) != 0;
+  }
+
+  // FNV-1a over UTF-16 code units, finished with a 64-bit avalanche mix.
+  private static long hash(CharSequence value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  public int hashCount() {
+    return hashCount;
+  }
+
+  public long approximateInsertions() {
+    return insertions.get();
+  }
+
+  public long memoryBytes() {
+    return bitSize / 8;
+  }
+
+  public long bitCount() {
+    long count = 0;
+    for (int i = 0; i < words.length(); i++) {
+      count += Long.bitCount(words.get(i));
+    }
+    return count;
+  }
+
+  public double expectedFalsePositiveRate() {
+    return Math.pow((double) bitCount() / bitSize, hashCount);
+  }
+}
@@ -0,0 +1,123 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
+import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
+import com.antunes.flashcards.domain.user.auth.repository.LoginAttemptRepository;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.infrastructure.scheduling.TimingWheel;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks when reset tokens and login lockouts expire in timing wheels. On each tick, the items that
+ * expired are written back in batches: tokens are marked used and locks are cleared. Tokens keep
+ * their rows until the periodic {@link PasswordResetTokenCleanupService} sweep deletes them, so a
+ * late click still gets the expired response. The database is never scanned for expired rows.
+ * Pending deadlines are loaded once at startup. Artifacts created by other nodes are left to the
+ * sweep and to the unlock check on read.
+ */
+@Component
+public class AuthExpiryIndex {
+  private static final Logger logger = LoggerFactory.getLogger(AuthExpiryIndex.class);
+  private static final int WHEEL_LEVELS = 4;
+
+  private final PasswordResetTokenRepository passwordResetTokenRepository;
+  private final LoginAttemptRepository loginAttemptRepository;
+  private final ClockService clockService;
+  private final int batchSize;
+  private final TimingWheel<Long> resetTokens;
+  private final TimingWheel<Long> lockouts;
+
+  public AuthExpiryIndex(
+      PasswordResetTokenRepository passwordResetTokenRepository,
+      LoginAttemptRepository loginAttemptRepository,
+      ClockService clockService,
+      @Value("${spring.expiry.tick-millis:1000}") long tickMillis,
+      @Value("${spring.expiry.wheel-size:64}") int wheelSize,
+      @Value("${spring.expiry.batch-size:500}") int batchSize) {
+    this.passwordResetTokenRepository = passwordResetTokenRepository;
+    this.loginAttemptRepository = loginAttemptRepository;
+    this.clockService = clockService;
+    this.batchSize = batchSize;
+    Duration tick = Duration.ofMillis(tickMillis);
+    Instant start = clockService.getClock().instant();
+    this.resetTokens = new TimingWheel<>(tick, wheelSize, WHEEL_LEVELS, start);
+    this.lockouts = new TimingWheel<>(tick, wheelSize, WHEEL_LEVELS, start);
+  }
+
+  public void trackResetToken(Long tokenId, Instant expiresAt) {
+    resetTokens.schedule(tokenId, expiresAt);
+  }
+
+  public void trackLockout(Long userId, LocalDateTime lockedUntil) {
+    lockouts.schedule(userId, lockedUntil.atZone(clockService.getClock().getZone()).toInstant());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void load() {
+    for (PasswordResetToken token : passwordResetTokenRepository.findAllByUsedFalse()) {
+      trackResetToken(token.getId(), token.getExpiresAt());
+    }
+    for (LoginAttempt loginAttempt : loginAttemptRepository.findAllByLockedUntilIsNotNull()) {
+      trackLockout(loginAttempt.getUser().getId(), loginAttempt.getLockedUntil());
+    }
+    logger.info(
+        "Tracking {} reset tokens and {} lockouts for expiry", resetTokens.size(), lockouts.size());
+  }
+
+  @Scheduled(fixedDelayString = "${spring.expiry.tick-millis:1000}")
+  public void scheduledTick() {
+    try {
+      expireDue();
+    } catch (RuntimeException e) {
+      logger.warn("Could not write expired auth artifacts, will retry", e);
+    }
+  }
+
+  public int expireDue() {
+    Instant now = clockService.getClock().instant();
+    LocalDateTime localNow = clockService.now();
+    int expired =
+        drain(resetTokens, now, ids -> passwordResetTokenRepository.markExpiredByIds(ids, now));
+    expired +=
+        drain(
+            lockouts, now, userIds -> loginAttemptRepository.clearExpiredLocks(userIds, localNow));
+    return expired;
+  }
+
+  private int drain(TimingWheel<Long> wheel, Instant now, Function<List<Long>, Integer> sink) {
+    List<Long> due = wheel.advanceTo(now);
+    int written = 0;
+    for (int from = 0; from < due.size(); from += batchSize) {
+      List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+      try {
+        written += sink.apply(batch);
+      } catch (RuntimeException e) {
+        due.subList(from, due.size()).forEach(id -> wheel.schedule(id, now));
+        throw e;
+      }
+    }
+    return written;
+  }
+
+  public int getTrackedResetTokens() {
+    return resetTokens.size();
+  }
+
+  public int getTrackedLockouts() {
+    return lockouts.size();
+  }
+}
@@ -0,0 +1,75 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes rows by id in batches of at most {@code batchSize}, pausing between batches so other
+ * writers get the table, until no ids are left or the deadline passes. Each batch is its own
+ * statement, so locks are held for one batch at a time.
+ */
+class BatchedDeleter {
+  private static final Logger logger = LoggerFactory.getLogger(BatchedDeleter.class);
+
+  record Deleted(int rows, int batches) {}
+
+  private final String rowName;
+  private final int batchSize;
+  private final Duration pause;
+
+  BatchedDeleter(String rowName, int batchSize, Duration pause) {
+    this.rowName = rowName;
+    this.batchSize = batchSize;
+    this.pause = pause;
+  }
+
+  int batchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Deletes the ids {@code nextIds} returns, at most {@code batchSize} at a time, until it returns
+   * fewer or {@code deadline}, in {@link System#nanoTime()} terms, has passed.
+   */
+  Deleted deleteInBatches(
+      Supplier<List<Long>> nextIds, Function<List<Long>, Integer> delete, long deadline) {
+    int deleted = 0;
+    int batches = 0;
+    while (System.nanoTime() < deadline) {
+      List<Long> ids = nextIds.get();
+      if (ids.isEmpty()) {
+        break;
+      }
+      long batchStarted = System.nanoTime();
+      int batchDeleted = delete.apply(ids);
+      deleted += batchDeleted;
+      batches++;
+      logger.debug(
+          "Deleted {} {} in {} ms",
+          batchDeleted,
+          rowName,
+          Duration.ofNanos(System.nanoTime() - batchStarted).toMillis());
+      if (ids.size() < batchSize || !pauseBetweenBatches()) {
+        break;
+      }
+    }
+    return new Deleted(deleted, batches);
+  }
+
+  private boolean pauseBetweenBatches() {
+    if (pause.isZero()) {
+      return true;
+    }
+    try {
+      Thread.sleep(pause.toMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import com.antunes.flashcards.infrastructure.scheduling.SchedulerLeaseService;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MaintenanceScheduler {
+  static final String RESET_TOKEN_CLEANUP = "password-reset-token-cleanup";
+  static final String REFRESH_TOKEN_CLEANUP = "refresh-token-cleanup";
+
+  private final SchedulerLeaseService schedulerLeaseService;
+  private final PasswordResetTokenCleanupService passwordResetTokenCleanupService;
+  private final RefreshTokenCleanupService refreshTokenCleanupService;
+  private final Duration resetLeaseAtMostFor;
+  private final Duration resetLeaseAtLeastFor;
+  private final Duration refreshLeaseAtMostFor;
+  private final Duration refreshLeaseAtLeastFor;
+
+  public MaintenanceScheduler(
+      SchedulerLeaseService schedulerLeaseService,
+      PasswordResetTokenCleanupService passwordResetTokenCleanupService,
+      RefreshTokenCleanupService refreshTokenCleanupService,
+      @Value("${spring.cleanup.reset-tokens.lease-millis:240000}") long resetLeaseMillis,
+      @Value("${spring.cleanup.reset-tokens.min-lease-millis:240000}") long resetMinLeaseMillis,
+      @Value("${spring.cleanup.refresh-tokens.lease-millis:240000}") long refreshLeaseMillis,
+      @Value("${spring.cleanup.refresh-tokens.min-lease-millis:240000}")
+          long refreshMinLeaseMillis) {
+    this.schedulerLeaseService = schedulerLeaseService;
+    this.passwordResetTokenCleanupService = passwordResetTokenCleanupService;
+    this.refreshTokenCleanupService = refreshTokenCleanupService;
+    this.resetLeaseAtMostFor = Duration.ofMillis(resetLeaseMillis);
+    this.resetLeaseAtLeastFor = Duration.ofMillis(resetMinLeaseMillis);
+    this.refreshLeaseAtMostFor = Duration.ofMillis(refreshLeaseMillis);
+    this.refreshLeaseAtLeastFor = Duration.ofMillis(refreshMinLeaseMillis);
+  }
+
+  @Scheduled(fixedDelayString = "${spring.cleanup.reset-tokens.interval-millis:3600000}")
+  public void cleanupPasswordResetTokens() {
+    schedulerLeaseService.runExclusively(
+        RESET_TOKEN_CLEANUP,
+        resetLeaseAtMostFor,
+        resetLeaseAtLeastFor,
+        passwordResetTokenCleanupService::cleanupExpiredOrUsedTokens);
+  }
+
+  @Scheduled(fixedDelayString = "${spring.cleanup.refresh-tokens.interval-millis:3600000}")
+  public void cleanupRefreshTokens() {
+    schedulerLeaseService.runExclusively(
+        REFRESH_TOKEN_CLEANUP,
+        refreshLeaseAtMostFor,
+        refreshLeaseAtLeastFor,
+        refreshTokenCleanupService::cleanupExpiredTokens);
+  }
+}
@@ -1,10 +1,12 @@
 package com.antunes.flashcards.infrastructure.maintenance;
 
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import java.time.Duration;
 import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,16 +16,58 @@ public class PasswordResetTokenCleanupService {
       LoggerFactory.getLogger(PasswordResetTokenCleanupService.class);
 
   private final PasswordResetTokenRepository passwordResetTokenRepository;
+  private final BatchedDeleter batchedDeleter;
+  private final Duration timeBudget;
+
+  private volatile TokenCleanupResult lastResult;
 
   public PasswordResetTokenCleanupService(
-      PasswordResetTokenRepository passwordResetTokenRepository) {
+      PasswordResetTokenRepository passwordResetTokenRepository,
+      @Value("${spring.cleanup.reset-tokens.batch-size:500}") int batchSize,
+      @Value("${spring.cleanup.reset-tokens.pause-millis:50}") long pauseMillis,
+      @Value("${spring.cleanup.reset-tokens.time-budget-millis:30000}") long timeBudgetMillis) {
     this.passwordResetTokenRepository = passwordResetTokenRepository;
+    this.batchedDeleter =
+        new BatchedDeleter("password reset tokens", batchSize, Duration.ofMillis(pauseMillis));
+    this.timeBudget = Duration.ofMillis(timeBudgetMillis);
   }
 
-  @Scheduled(fixedRate = 300000)
-  public void cleanupExpiredOrUsedTokens() {
+  public TokenCleanupResult cleanupExpiredOrUsedTokens() {
     Instant now = Instant.now();
-    passwordResetTokenRepository.deleteAllExpiredOrUsed(now);
-    logger.info("Expired or used password reset tokens cleanup executed at {}", now);
+    long started = System.nanoTime();
+    long deadline = started + timeBudget.toNanos();
+    PageRequest batch = PageRequest.of(0, batchedDeleter.batchSize());
+
+    BatchedDeleter.Deleted expired =
+        batchedDeleter.deleteInBatches(
+            () -> passwordResetTokenRepository.findExpiredIds(now, batch),
+            passwordResetTokenRepository::deleteAllByIds,
+            deadline);
+    BatchedDeleter.Deleted used =
+        batchedDeleter.deleteInBatches(
+            () -> passwordResetTokenRepository.findUsedIds(batch),
+            passwordResetTokenRepository::deleteAllByIds,
+            deadline);
+
+    TokenCleanupResult result =
+        new TokenCleanupResult(
+            expired.rows(),
+            used.rows(),
+            expired.batches() + used.batches(),
+            Duration.ofNanos(System.nanoTime() - started),
+            System.nanoTime() >= deadline);
+    lastResult = result;
+    logger.info(
+        "Password reset token cleanup deleted {} expired and {} used tokens in {} batches, {} ms{}",
+        result.expiredDeleted(),
+        result.usedDeleted(),
+        result.batches(),
+        result.elapsed().toMillis(),
+        result.budgetExhausted() ? ", time budget exhausted" : "");
+    return result;
+  }
+
+  public TokenCleanupResult getLastResult() {
+    return lastResult;
   }
 }
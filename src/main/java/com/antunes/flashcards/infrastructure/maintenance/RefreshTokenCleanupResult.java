@@ -0,0 +1,6 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import java.time.Duration;
+
+public record RefreshTokenCleanupResult(
+    int expiredDeleted, int batches, Duration elapsed, boolean budgetExhausted) {}
@@ -0,0 +1,73 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import com.antunes.flashcards.domain.user.auth.repository.RefreshTokenRepository;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes expired refresh tokens in bounded batches, stopping when the time budget is spent. Used
+ * tokens are kept until they expire, since reuse detection needs them.
+ */
+@Service
+public class RefreshTokenCleanupService {
+
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCleanupService.class);
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final ClockService clockService;
+  private final BatchedDeleter batchedDeleter;
+  private final Duration timeBudget;
+
+  private volatile RefreshTokenCleanupResult lastResult;
+
+  public RefreshTokenCleanupService(
+      RefreshTokenRepository refreshTokenRepository,
+      ClockService clockService,
+      @Value("${spring.cleanup.refresh-tokens.batch-size:500}") int batchSize,
+      @Value("${spring.cleanup.refresh-tokens.pause-millis:50}") long pauseMillis,
+      @Value("${spring.cleanup.refresh-tokens.time-budget-millis:30000}") long timeBudgetMillis) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.clockService = clockService;
+    this.batchedDeleter =
+        new BatchedDeleter("refresh tokens", batchSize, Duration.ofMillis(pauseMillis));
+    this.timeBudget = Duration.ofMillis(timeBudgetMillis);
+  }
+
+  public RefreshTokenCleanupResult cleanupExpiredTokens() {
+    Instant now = clockService.getClock().instant();
+    long started = System.nanoTime();
+    long deadline = started + timeBudget.toNanos();
+    PageRequest batch = PageRequest.of(0, batchedDeleter.batchSize());
+
+    BatchedDeleter.Deleted expired =
+        batchedDeleter.deleteInBatches(
+            () -> refreshTokenRepository.findExpiredIds(now, batch),
+            ids -> refreshTokenRepository.deleteExpiredByIds(ids, now),
+            deadline);
+
+    RefreshTokenCleanupResult result =
+        new RefreshTokenCleanupResult(
+            expired.rows(),
+            expired.batches(),
+            Duration.ofNanos(System.nanoTime() - started),
+            System.nanoTime() >= deadline);
+    lastResult = result;
+    logger.info(
+        "Refresh token cleanup deleted {} expired tokens in {} batches, {} ms{}",
+        result.expiredDeleted(),
+        result.batches(),
+        result.elapsed().toMillis(),
+        result.budgetExhausted() ? ", time budget exhausted" : "");
+    return result;
+  }
+
+  public RefreshTokenCleanupResult getLastResult() {
+    return lastResult;
+  }
+}
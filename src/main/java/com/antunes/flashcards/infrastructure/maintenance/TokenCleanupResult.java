@@ -0,0 +1,11 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import java.time.Duration;
+
+public record TokenCleanupResult(
+    int expiredDeleted, int usedDeleted, int batches, Duration elapsed, boolean budgetExhausted) {
+
+  public int totalDeleted() {
+    return expiredDeleted + usedDeleted;
+  }
+}
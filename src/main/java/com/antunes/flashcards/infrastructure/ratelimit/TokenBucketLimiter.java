@@ -0,0 +1,68 @@
+package com.antunes.flashcards.infrastructure.ratelimit;
+
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token bucket holding up to {@code capacity} tokens and refilling one every {@code
+ * refillPeriod}. Each key stores a single timestamp: the time at which its bucket will be full
+ * again. A request takes a token by moving that time forward with a CAS, so no locks are taken.
+ * Keys whose buckets have refilled completely are evicted, and the number of keys is capped.
+ */
+public class TokenBucketLimiter {
+  private final ClockService clockService;
+  private final long refillMillis;
+  private final long burstMillis;
+  private final Cache<String, AtomicLong> buckets;
+  private final LongAdder allowedCount = new LongAdder();
+  private final LongAdder throttledCount = new LongAdder();
+
+  public TokenBucketLimiter(
+      ClockService clockService, int capacity, Duration refillPeriod, long maximumKeys) {
+    if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+      throw new IllegalArgumentException("Capacity and refill period must be positive");
+    }
+    this.clockService = clockService;
+    this.refillMillis = refillPeriod.toMillis();
+    this.burstMillis = refillMillis * capacity;
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofMillis(burstMillis))
+            .build();
+  }
+
+  public boolean tryAcquire(String key) {
+    AtomicLong fullAt = buckets.get(key, k -> new AtomicLong());
+    long now = clockService.getClock().millis();
+    while (true) {
+      long current = fullAt.get();
+      long base = Math.max(current, now);
+      long next = base + refillMillis;
+      if (next - now > burstMillis) {
+        throttledCount.increment();
+        return false;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        allowedCount.increment();
+        return true;
+      }
+    }
+  }
+
+  public long getAllowedCount() {
+    return allowedCount.sum();
+  }
+
+  public long getThrottledCount() {
+    return throttledCount.sum();
+  }
+
+  public long getTrackedKeys() {
+    return buckets.estimatedSize();
+  }
+}
@@ -0,0 +1,66 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease implements Persistable<String> {
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(nullable = false)
+  private String owner;
+
+  @Column(nullable = false)
+  private Instant lockedAt;
+
+  @Column(nullable = false)
+  private Instant lockedUntil;
+
+  // Always insert new leases instead of merging, so a concurrent insert fails on the key.
+  @Transient private boolean isNew = true;
+
+  protected SchedulerLease() {}
+
+  public SchedulerLease(String name, String owner, Instant lockedAt, Instant lockedUntil) {
+    this.name = name;
+    this.owner = owner;
+    this.lockedAt = lockedAt;
+    this.lockedUntil = lockedUntil;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  @Override
+  public String getId() {
+    return name;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public Instant getLockedAt() {
+    return lockedAt;
+  }
+
+  public Instant getLockedUntil() {
+    return lockedUntil;
+  }
+}
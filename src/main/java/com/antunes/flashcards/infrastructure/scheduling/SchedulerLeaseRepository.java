@@ -0,0 +1,32 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE SchedulerLease l SET l.owner = :owner, l.lockedAt = :now, l.lockedUntil = :until"
+          + " WHERE l.name = :name AND l.lockedUntil <= :now")
+  int takeOverExpired(
+      @Param("name") String name,
+      @Param("owner") String owner,
+      @Param("now") Instant now,
+      @Param("until") Instant until);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE SchedulerLease l SET l.lockedUntil = :until"
+          + " WHERE l.name = :name AND l.owner = :owner")
+  int shortenTo(
+      @Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+}
@@ -0,0 +1,106 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Named leases in the {@code scheduler_lease} table so that a scheduled job runs on one node per
+ * window. A lease is taken with a conditional UPDATE, or an INSERT the first time, so only one node
+ * can win it. If the holder dies, the lease expires after {@code atMostFor} and another node takes
+ * over. Nodes should keep their clocks in sync to well within {@code atMostFor}.
+ */
+@Service
+public class SchedulerLeaseService {
+  private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+  private final SchedulerLeaseRepository schedulerLeaseRepository;
+  private final Clock clock;
+  private final String owner;
+  private final Map<String, Instant> acquiredAt = new ConcurrentHashMap<>();
+
+  public SchedulerLeaseService(
+      SchedulerLeaseRepository schedulerLeaseRepository, Clock clock, String owner) {
+    this.schedulerLeaseRepository = schedulerLeaseRepository;
+    this.clock = clock;
+    this.owner = owner;
+  }
+
+  @Autowired
+  public SchedulerLeaseService(
+      SchedulerLeaseRepository schedulerLeaseRepository,
+      Clock clock,
+      @Value("${spring.scheduling.lease.owner:}") String owner,
+      @Value("${HOSTNAME:}") String hostname) {
+    this(schedulerLeaseRepository, clock, owner.isBlank() ? defaultOwner(hostname) : owner);
+  }
+
+  private static String defaultOwner(String hostname) {
+    if (hostname.isBlank()) {
+      try {
+        hostname = InetAddress.getLocalHost().getHostName();
+      } catch (UnknownHostException e) {
+        hostname = "unknown";
+      }
+    }
+    return hostname + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public boolean tryAcquire(String name, Duration atMostFor) {
+    Instant now = clock.instant();
+    Instant until = now.plus(atMostFor);
+    boolean acquired = schedulerLeaseRepository.takeOverExpired(name, owner, now, until) == 1;
+    if (!acquired && !schedulerLeaseRepository.existsById(name)) {
+      try {
+        schedulerLeaseRepository.saveAndFlush(new SchedulerLease(name, owner, now, until));
+        acquired = true;
+      } catch (DataIntegrityViolationException e) {
+        acquired = false;
+      }
+    }
+    if (acquired) {
+      acquiredAt.put(name, now);
+    }
+    return acquired;
+  }
+
+  public void release(String name, Duration atLeastFor) {
+    Instant lockedAt = acquiredAt.remove(name);
+    if (lockedAt == null) {
+      return;
+    }
+    Instant now = clock.instant();
+    Instant earliestNextRun = lockedAt.plus(atLeastFor);
+    schedulerLeaseRepository.shortenTo(
+        name, owner, earliestNextRun.isAfter(now) ? earliestNextRun : now);
+  }
+
+  public boolean runExclusively(
+      String name, Duration atMostFor, Duration atLeastFor, Runnable task) {
+    if (!tryAcquire(name, atMostFor)) {
+      logger.debug("Skipping {}, lease is held by another node", name);
+      return false;
+    }
+    try {
+      task.run();
+      return true;
+    } finally {
+      release(name, atLeastFor);
+    }
+  }
+}
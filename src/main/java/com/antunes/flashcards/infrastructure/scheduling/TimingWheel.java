@@ -0,0 +1,122 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel that hands back items once their deadline has passed. Each level has
+ * {@code wheelSize} buckets, and every level covers {@code wheelSize} times the span of the one
+ * below it. Scheduling is O(1). Each tick drains one bucket, and an item is moved down at most once
+ * per level. Deadlines are rounded up to the next tick, so items never expire early. Deadlines
+ * beyond the top level wait in an overflow list that is revisited when the top level wraps.
+ */
+public class TimingWheel<T> {
+  private record Entry<T>(T item, long deadlineTick) {}
+
+  private final long tickNanos;
+  private final int wheelSize;
+  private final int levels;
+  private final Instant origin;
+  private final long[] spans;
+  private final List<Entry<T>>[][] buckets;
+  private final List<Entry<T>> overflow = new ArrayList<>();
+  private List<T> overdue = new ArrayList<>();
+  private long currentTick;
+  private int scheduled;
+
+  @SuppressWarnings("unchecked")
+  public TimingWheel(Duration tick, int wheelSize, int levels, Instant start) {
+    if (tick.isNegative() || tick.isZero()) {
+      throw new IllegalArgumentException("Tick must be positive");
+    }
+    if (wheelSize < 2 || levels < 1) {
+      throw new IllegalArgumentException("Wheel needs at least two buckets and one level");
+    }
+    this.tickNanos = tick.toNanos();
+    this.wheelSize = wheelSize;
+    this.levels = levels;
+    this.origin = start;
+    this.spans = new long[levels + 1];
+    spans[0] = 1;
+    for (int level = 1; level <= levels; level++) {
+      spans[level] = Math.multiplyExact(spans[level - 1], (long) wheelSize);
+    }
+    this.buckets = new List[levels][wheelSize];
+  }
+
+  public synchronized void schedule(T item, Instant deadline) {
+    long elapsed = Duration.between(origin, deadline).toNanos();
+    long deadlineTick = Math.max(0, Math.floorDiv(elapsed + tickNanos - 1, tickNanos));
+    insert(new Entry<>(item, deadlineTick));
+  }
+
+  public synchronized List<T> advanceTo(Instant now) {
+    long targetTick = Math.floorDiv(Duration.between(origin, now).toNanos(), tickNanos);
+    while (currentTick < targetTick) {
+      if (scheduled == 0) {
+        currentTick = targetTick;
+        break;
+      }
+      currentTick++;
+      if (currentTick % spans[levels] == 0) {
+        List<Entry<T>> waiting = new ArrayList<>(overflow);
+        overflow.clear();
+        scheduled -= waiting.size();
+        waiting.forEach(this::insert);
+      }
+      for (int level = levels - 1; level > 0; level--) {
+        if (currentTick % spans[level] == 0) {
+          cascade(level, (int) ((currentTick / spans[level]) % wheelSize));
+        }
+      }
+      List<Entry<T>> due = takeBucket(0, (int) (currentTick % wheelSize));
+      for (Entry<T> entry : due) {
+        overdue.add(entry.item());
+      }
+    }
+    List<T> expired = overdue;
+    overdue = new ArrayList<>();
+    return expired;
+  }
+
+  public synchronized int size() {
+    return scheduled + overdue.size();
+  }
+
+  private void insert(Entry<T> entry) {
+    if (entry.deadlineTick() <= currentTick) {
+      overdue.add(entry.item());
+      return;
+    }
+    scheduled++;
+    for (int level = 0; level < levels; level++) {
+      if (entry.deadlineTick() / spans[level + 1] == currentTick / spans[level + 1]) {
+        int index = (int) ((entry.deadlineTick() / spans[level]) % wheelSize);
+        List<Entry<T>> bucket = buckets[level][index];
+        if (bucket == null) {
+          bucket = new ArrayList<>();
+          buckets[level][index] = bucket;
+        }
+        bucket.add(entry);
+        return;
+      }
+    }
+    overflow.add(entry);
+  }
+
+  private void cascade(int level, int index) {
+    takeBucket(level, index).forEach(this::insert);
+  }
+
+  private List<Entry<T>> takeBucket(int level, int index) {
+    List<Entry<T>> bucket = buckets[level][index];
+    if (bucket == null) {
+      return List.of();
+    }
+    buckets[level][index] = null;
+    scheduled -= bucket.size();
+    return bucket;
+  }
+}
@@ -0,0 +1,87 @@
+package com.antunes.flashcards.infrastructure.security;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose work factor is chosen from the hash time measured on the current node.
+ * Stored hashes with a different cost report {@link #upgradeEncoding} so they can be rehashed on
+ * the next successful login, in either direction.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+  private static final Logger logger =
+      LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+  private static final int PROBE_STRENGTH = 8;
+  private static final int PROBE_RUNS = 3;
+
+  private final int strength;
+
+  public CalibratedBCryptPasswordEncoder(int strength) {
+    super(strength);
+    this.strength = strength;
+  }
+
+  public static CalibratedBCryptPasswordEncoder calibrate(
+      Duration targetHashTime, int minStrength, int maxStrength) {
+    long probeNanos = measureProbe();
+    int strength = minStrength;
+    for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+      if (estimate(probeNanos, candidate) <= targetHashTime.toNanos()) {
+        strength = candidate;
+      }
+    }
+    logger.info(
+        "BCrypt strength {} selected for a target hash time of {} ms (estimated {} ms)",
+        strength,
+        targetHashTime.toMillis(),
+        Duration.ofNanos(estimate(probeNanos, strength)).toMillis());
+    return new CalibratedBCryptPasswordEncoder(strength);
+  }
+
+  // Each extra unit of cost doubles the number of key expansion rounds.
+  private static long estimate(long probeNanos, int strength) {
+    int shift = strength - PROBE_STRENGTH;
+    return shift >= 0 ? probeNanos << shift : probeNanos >> -shift;
+  }
+
+  private static long measureProbe() {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+    probe.encode("calibration-warmup");
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < PROBE_RUNS; i++) {
+      long start = System.nanoTime();
+      probe.encode("calibration-probe");
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+
+  public int getStrength() {
+    return strength;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    int cost = costOf(encodedPassword);
+    return cost > 0 && cost != strength;
+  }
+
+  static int costOf(String encodedPassword) {
+    if (encodedPassword == null
+        || encodedPassword.length() < 7
+        || encodedPassword.charAt(0) != '$'
+        || encodedPassword.charAt(3) != '$'
+        || encodedPassword.charAt(6) != '$') {
+      return -1;
+    }
+    char tens = encodedPassword.charAt(4);
+    char units = encodedPassword.charAt(5);
+    if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+      return -1;
+    }
+    return (tens - '0') * 10 + (units - '0');
+  }
+}
@@ -0,0 +1,25 @@
+-- Full-text search over flashcards (see FlashcardSearchService). search_vector is a plain column
+-- kept up to date by a trigger, rather than a stored generated column, because adding a generated
+-- column rewrites the whole table under an exclusive lock. Adding a nullable column does not.
+-- Existing rows are filled in by V11 and the index is built by V12.
+
+ALTER TABLE flashcard ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- The question is weighted above the answer. The simple configuration matches words exactly,
+-- without stemming, as cards are often in several languages at once.
+CREATE OR REPLACE FUNCTION flashcard_search_vector_update() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+  NEW.search_vector :=
+      setweight(to_tsvector('simple', coalesce(NEW.question, '')), 'A')
+      || setweight(to_tsvector('simple', coalesce(NEW.answer, '')), 'B');
+  RETURN NEW;
+END $$;
+
+DROP TRIGGER IF EXISTS flashcard_search_vector ON flashcard;
+CREATE TRIGGER flashcard_search_vector
+  BEFORE INSERT OR UPDATE OF question, answer ON flashcard
+  FOR EACH ROW EXECUTE FUNCTION flashcard_search_vector_update();
+
+-- Lets the GIN index lead with owner_id, so a search only visits the owner's postings.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
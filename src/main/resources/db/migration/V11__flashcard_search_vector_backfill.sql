@@ -0,0 +1,18 @@
+-- Fills search_vector for the cards that existed before V10, 5000 ids at a time, committing after
+-- each range so that no long transaction holds row locks or bloats the table. Cards written since
+-- V10 are filled by the trigger. Runs outside a transaction (see the .conf file); with psql, do not
+-- use -1. Safe to rerun: filled rows are skipped.
+DO $$
+DECLARE
+  batch_start bigint;
+  last_id bigint;
+BEGIN
+  SELECT coalesce(min(id), 0), coalesce(max(id), 0) INTO batch_start, last_id FROM flashcard;
+  WHILE batch_start <= last_id LOOP
+    -- Assigning the question to itself fires the trigger, which computes the vector.
+    UPDATE flashcard SET question = question
+    WHERE id >= batch_start AND id < batch_start + 5000 AND search_vector IS NULL;
+    COMMIT;
+    batch_start := batch_start + 5000;
+  END LOOP;
+END $$;
@@ -0,0 +1,4 @@
+-- GIN index over (owner_id, search_vector), built concurrently so cards can still be written
+-- while it builds. FlashcardSearchService switches to full-text search once the index is valid.
+DROP INDEX CONCURRENTLY IF EXISTS idx_flashcard_search;
+CREATE INDEX CONCURRENTLY idx_flashcard_search ON flashcard USING GIN (owner_id, search_vector);
@@ -0,0 +1,4 @@
+-- Registration time on the database clock, read by the registered email filter to pull in users
+-- registered on other nodes. Existing users get the time of the migration, which only makes the
+-- first refresh re-read them. now() is evaluated once for the default, so the table is not rewritten.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS registered_at timestamp(6) with time zone NOT NULL DEFAULT now();
@@ -0,0 +1,4 @@
+-- Backs the registered email filter's refresh, which reads users registered since a point in time.
+-- Built concurrently so users can still register while it builds.
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_registered_at;
+CREATE INDEX CONCURRENTLY idx_users_registered_at ON users (registered_at);
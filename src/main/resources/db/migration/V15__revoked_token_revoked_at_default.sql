@@ -0,0 +1,3 @@
+-- revoked_at is stamped by the database instead of the revoking node, so refreshes on every node
+-- compare it against one clock. Rows already written keep the time their node gave them.
+ALTER TABLE revoked_token ALTER COLUMN revoked_at SET DEFAULT now();
@@ -0,0 +1,4 @@
+-- Backs uk_users_email. Built concurrently so registrations keep working while it builds.
+-- Fails if two users share an email; emails are stored lowercased, so merge those first.
+DROP INDEX CONCURRENTLY IF EXISTS uk_users_email_idx;
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_email_idx ON users (raw_email);
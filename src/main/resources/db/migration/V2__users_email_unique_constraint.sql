@@ -0,0 +1,7 @@
+-- UserService reports a violation of uk_users_email as ExistingEmailException.
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_email') THEN
+    ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE USING INDEX uk_users_email_idx;
+  END IF;
+END $$;
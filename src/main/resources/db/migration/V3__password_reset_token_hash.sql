@@ -0,0 +1,7 @@
+-- Reset tokens are stored as SHA-256 digests. Tokens issued before this change were stored in
+-- plain text and cannot be matched against a digest, so they are deleted; the users affected
+-- request a new reset link. Dropping the token column drops its unique constraint and idx_token.
+DELETE FROM password_reset_token;
+ALTER TABLE password_reset_token DROP COLUMN IF EXISTS token;
+ALTER TABLE password_reset_token ADD COLUMN IF NOT EXISTS token_hash varchar(43) NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_token_hash ON password_reset_token (token_hash);
@@ -0,0 +1,7 @@
+-- Named leases that let one node at a time run a scheduled job.
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+  name varchar(64) PRIMARY KEY,
+  owner varchar(255) NOT NULL,
+  locked_at timestamp(6) with time zone NOT NULL,
+  locked_until timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Ids of revoked auth tokens, kept until the tokens expire.
+CREATE TABLE IF NOT EXISTS revoked_token (
+  jti varchar(36) PRIMARY KEY,
+  expires_at timestamp(6) with time zone NOT NULL,
+  revoked_at timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON revoked_token (revoked_at);
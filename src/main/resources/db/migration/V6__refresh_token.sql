@@ -0,0 +1,14 @@
+-- Refresh tokens, stored as SHA-256 digests and grouped in families for reuse detection.
+CREATE TABLE IF NOT EXISTS refresh_token (
+  id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  user_id bigint NOT NULL,
+  family_id varchar(36) NOT NULL,
+  token_hash varchar(43) NOT NULL,
+  expires_at timestamp(6) with time zone NOT NULL,
+  used boolean NOT NULL,
+  revoked boolean NOT NULL,
+  CONSTRAINT idx_refresh_token_hash UNIQUE (token_hash),
+  CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token (expires_at);
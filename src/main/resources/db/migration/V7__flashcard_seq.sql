@@ -0,0 +1,18 @@
+-- Flashcard ids come from flashcard_seq, which hands out blocks of 500 so that bulk inserts can be
+-- batched, instead of from an identity column. Nodes still running the previous release insert
+-- without an id and fail once the identity is dropped, so run this with the release that needs it.
+-- The lock keeps cards from being inserted between reading max(id) and moving the sequence past it.
+-- It only lasts until the end of a transaction, so the script opens its own: psql -f runs each
+-- statement on its own otherwise, and the .sql.conf file keeps Flyway from wrapping it a second time.
+BEGIN;
+LOCK TABLE flashcard IN SHARE ROW EXCLUSIVE MODE;
+ALTER TABLE flashcard ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS flashcard_seq INCREMENT BY 500;
+-- Hibernate reads each value as the top of a block of 500, so the first value must be at least
+-- max(id) + 500. Never moved backwards, in case the script is rerun after ids were handed out.
+SELECT setval(
+    'flashcard_seq',
+    greatest((SELECT coalesce(max(id), 0) FROM flashcard), (SELECT last_value FROM flashcard_seq))
+        + 500,
+    false);
+COMMIT;
@@ -0,0 +1,15 @@
+-- Deck link ids come from deck_flashcard_seq in blocks of 500, like flashcard ids (see V7), so that
+-- imports can batch their link inserts. Run with the release that needs it, as for V7, which also
+-- explains the explicit transaction.
+BEGIN;
+LOCK TABLE deck_flashcard IN SHARE ROW EXCLUSIVE MODE;
+ALTER TABLE deck_flashcard ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS deck_flashcard_seq INCREMENT BY 500;
+SELECT setval(
+    'deck_flashcard_seq',
+    greatest(
+        (SELECT coalesce(max(id), 0) FROM deck_flashcard),
+        (SELECT last_value FROM deck_flashcard_seq))
+        + 500,
+    false);
+COMMIT;
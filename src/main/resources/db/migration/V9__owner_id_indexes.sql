@@ -0,0 +1,6 @@
+-- Back keyset pagination of an owner's flashcards and decks, which filters on owner_id and orders
+-- by id. Built concurrently so cards and decks can still be written while they build.
+DROP INDEX CONCURRENTLY IF EXISTS idx_flashcard_owner_id;
+CREATE INDEX CONCURRENTLY idx_flashcard_owner_id ON flashcard (owner_id, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_deck_owner_id;
+CREATE INDEX CONCURRENTLY idx_deck_owner_id ON deck (owner_id, id);
@@ -0,0 +1,209 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.deck.exception.DeckImportException;
+import com.antunes.flashcards.domain.deck.model.DeckFlashcard;
+import com.antunes.flashcards.domain.deck.repository.DeckFlashcardRepository;
+import com.antunes.flashcards.domain.deck.repository.DeckRepository;
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.decks.import.batch-size=100")
+@ActiveProfiles("test")
+public class DeckImportServiceIntegrationTests {
+  @Autowired private DeckImportService deckImportService;
+  @Autowired private DeckRepository deckRepository;
+  @Autowired private DeckFlashcardRepository deckFlashcardRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+
+  private User user;
+
+  @BeforeAll
+  void setUp() {
+    passwordResetTokenRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    user = userService.register("user@example.com", "securePassword123");
+  }
+
+  @AfterEach
+  void cleanup() {
+    deckFlashcardRepository.deleteAllInBatch();
+    deckRepository.deleteAllInBatch();
+    flashcardRepository.deleteAllInBatch();
+  }
+
+  private static InputStream text(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<DeckFlashcard> linksInOrder(Long deckId) {
+    return deckFlashcardRepository.findAll().stream()
+        .filter(link -> link.getDeck().getId().equals(deckId))
+        .sorted(Comparator.comparingInt(DeckFlashcard::getPositionInDeck))
+        .toList();
+  }
+
+  @Test
+  void csv_shouldImportValidRowsAndReportBadOnes() {
+    String csv =
+        "capital of France,Paris\n\" \",blank question\nonly one column\n\"2, 3\",\"five\"\n";
+
+    DeckImportResult result =
+        deckImportService.importDeck(user, "Geography", text(csv), DeckImportFormat.CSV);
+
+    assertEquals(4, result.rowsRead());
+    assertEquals(2, result.imported());
+    assertEquals(2, result.rejected());
+    assertEquals(List.of(2L, 3L), result.errors().stream().map(DeckImportError::line).toList());
+    assertEquals(2, flashcardRepository.count());
+    List<DeckFlashcard> links = linksInOrder(result.deckId());
+    assertEquals(List.of(0, 1), links.stream().map(DeckFlashcard::getPositionInDeck).toList());
+    assertEquals(
+        "2, 3",
+        flashcardRepository.findById(links.get(1).getFlashcard().getId()).get().getQuestion());
+  }
+
+  @Test
+  void tsv_shouldSplitOnTabs() {
+    DeckImportResult result =
+        deckImportService.importDeck(
+            user, "Words", text("\uFEFFhola\thello\nadiós\tgoodbye, bye\n"), DeckImportFormat.TSV);
+
+    assertEquals(2, result.imported());
+    assertEquals(0, result.rejected());
+  }
+
+  @Test
+  void anki_shouldHonourHeaders() {
+    String export =
+        "#separator:Pipe\n#html:true\n#notetype column:1\n#tags column:4\n"
+            + "Basic|What is 2+2?|4|math\n"
+            + "Basic|Largest planet|Jupiter|space\n";
+
+    DeckImportResult result =
+        deckImportService.importDeck(user, "Anki", text(export), DeckImportFormat.ANKI);
+
+    assertEquals(2, result.imported());
+    assertEquals(
+        List.of("What is 2+2?", "Largest planet"),
+        linksInOrder(result.deckId()).stream()
+            .map(link -> flashcardRepository.findById(link.getFlashcard().getId()).get())
+            .map(flashcard -> flashcard.getQuestion())
+            .toList());
+  }
+
+  @Test
+  void anki_unknownSeparator_shouldThrow() {
+    assertThrows(
+        DeckImportException.class,
+        () ->
+            deckImportService.importDeck(
+                user, "Anki", text("#separator:Unknown\nq\ta\n"), DeckImportFormat.ANKI));
+    assertEquals(0, deckRepository.count());
+  }
+
+  @Test
+  void anki_longFirstRow_shouldBeRejectedAlone() {
+    String export = "#separator:Comma\nq," + "a".repeat(70_000) + "\nshort question,short answer\n";
+
+    DeckImportResult result =
+        deckImportService.importDeck(user, "Anki", text(export), DeckImportFormat.ANKI);
+
+    assertEquals(2, result.rowsRead());
+    assertEquals(1, result.imported());
+    assertEquals(1, result.rejected());
+  }
+
+  @Test
+  void readFailure_shouldDeleteDeckAndImportedCards() {
+    StringBuilder rows = new StringBuilder();
+    for (int i = 0; i < 150; i++) {
+      rows.append("question ").append(i).append(",answer ").append(i).append('\n');
+    }
+    InputStream failing =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("connection reset");
+          }
+        };
+    List<DeckImportProgress> progress = new ArrayList<>();
+
+    DeckImportException exception =
+        assertThrows(
+            DeckImportException.class,
+            () ->
+                deckImportService.importDeck(
+                    user,
+                    "Broken",
+                    new SequenceInputStream(text(rows.toString()), failing),
+                    DeckImportFormat.CSV,
+                    progress::add));
+
+    assertEquals("Could not read deck file", exception.getMessage());
+    assertFalse(progress.isEmpty());
+    assertEquals(0, deckRepository.count());
+    assertEquals(0, deckFlashcardRepository.count());
+    assertEquals(0, flashcardRepository.count());
+  }
+
+  @Test
+  void largeFile_shouldBeStreamedInBatchesWithProgress() {
+    int rows = 5_000;
+    Enumeration<InputStream> lines =
+        new Enumeration<>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasMoreElements() {
+            return next < rows;
+          }
+
+          @Override
+          public InputStream nextElement() {
+            int row = next++;
+            return text(row % 1000 == 999 ? ",\n" : "question " + row + ",answer " + row + "\n");
+          }
+        };
+    List<DeckImportProgress> progress = new ArrayList<>();
+
+    DeckImportResult result =
+        deckImportService.importDeck(
+            user, "Large", new SequenceInputStream(lines), DeckImportFormat.CSV, progress::add);
+
+    assertEquals(rows, result.rowsRead());
+    assertEquals(rows - 5, result.imported());
+    assertEquals(5, result.rejected());
+    assertEquals(50, progress.size());
+    assertTrue(
+        IntStream.range(1, progress.size())
+            .allMatch(i -> progress.get(i).rowsRead() >= progress.get(i - 1).rowsRead()));
+    assertEquals(rows - 5, deckFlashcardRepository.count());
+  }
+}
@@ -0,0 +1,61 @@
+package com.antunes.flashcards.domain.deck.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DelimitedRecordReaderTests {
+  private DelimitedRecordReader reader(String input, char separator, int maxRecordChars) {
+    return new DelimitedRecordReader(new StringReader(input), separator, maxRecordChars);
+  }
+
+  @Test
+  void shouldSplitRecordsAndFields() throws IOException {
+    DelimitedRecordReader records = reader("a,b\r\nc,d\n", ',', 100);
+    assertEquals(List.of("a", "b"), records.next());
+    assertEquals(List.of("c", "d"), records.next());
+    assertNull(records.next());
+  }
+
+  @Test
+  void quotedFields_shouldKeepSeparatorsQuotesAndNewlines() throws IOException {
+    DelimitedRecordReader records = reader("\"a, \"\"b\"\"\",\"line\nbreak\"\nnext,row", ',', 100);
+    assertEquals(List.of("a, \"b\"", "line\nbreak"), records.next());
+    assertEquals(1, records.recordLine());
+    assertEquals(List.of("next", "row"), records.next());
+    assertEquals(3, records.recordLine());
+  }
+
+  @Test
+  void blankLines_shouldBeSkippedButCounted() throws IOException {
+    DelimitedRecordReader records = reader("\n\nq\ta\n\n", '\t', 100);
+    assertEquals(List.of("q", "a"), records.next());
+    assertEquals(3, records.recordLine());
+    assertNull(records.next());
+  }
+
+  @Test
+  void emptyFields_shouldBeKept() throws IOException {
+    assertEquals(List.of("", "b", ""), reader(",b,", ',', 100).next());
+  }
+
+  @Test
+  void longRecord_shouldBeTruncatedAndFollowingRecordsRead() throws IOException {
+    DelimitedRecordReader records = reader("x".repeat(50) + ",y\nq,a\n", ',', 10);
+    assertTrue(records.next().isEmpty());
+    assertTrue(records.isTruncated());
+    assertEquals(List.of("q", "a"), records.next());
+    assertFalse(records.isTruncated());
+  }
+
+  @Test
+  void unterminatedQuote_shouldConsumeRestAsOneTruncatedRecord() throws IOException {
+    DelimitedRecordReader records = reader("\"open,a\n" + "q,a\n".repeat(100), ',', 64);
+    records.next();
+    assertTrue(records.isTruncated());
+    assertNull(records.next());
+  }
+}
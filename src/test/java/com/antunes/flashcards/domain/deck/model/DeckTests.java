@@ -6,16 +6,20 @@ import com.antunes.flashcards.domain.deck.exception.DeckValidationException;
 import com.antunes.flashcards.domain.deck.exception.ExistingFlashcardException;
 import com.antunes.flashcards.domain.deck.repository.DeckFlashcardRepository;
 import com.antunes.flashcards.domain.deck.repository.DeckRepository;
+import com.antunes.flashcards.domain.deck.service.DeckService;
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardNotFoundException;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
 import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
 import com.antunes.flashcards.domain.flashcard.service.FlashcardService;
+import com.antunes.flashcards.domain.pagination.KeysetPage;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
 import com.antunes.flashcards.domain.user.service.UserService;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +38,7 @@ public class DeckTests {
   @Autowired DeckFlashcardRepository deckFlashcardRepository;
   @Autowired UserService userService;
   @Autowired FlashcardService flashcardService;
+  @Autowired DeckService deckService;
   @Autowired EntityManager entityManager;
 
   private String rawEmail = "user@example.com";
@@ -177,4 +182,24 @@ public class DeckTests {
     assertEquals(1, deck.size());
     assertTrue(deck.hasFlashcard(flashcard));
   }
+
+  @Test
+  void listDecksShouldPageThroughOwnDecksInIdOrder() {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      ids.add(deckRepository.save(Deck.create("Deck " + i, user)).getId());
+    }
+
+    KeysetPage<Deck> first = deckService.listDecks(user, null, 3);
+    KeysetPage<Deck> second = deckService.listDecks(user, first.nextCursor(), 3);
+    KeysetPage<Deck> last = deckService.listDecks(user, second.nextCursor(), 3);
+
+    List<Long> listed = new ArrayList<>();
+    for (KeysetPage<Deck> page : List.of(first, second, last)) {
+      page.items().forEach(listedDeck -> listed.add(listedDeck.getId()));
+    }
+    assertEquals(ids, listed);
+    assertFalse(last.hasNext());
+    assertEquals(user, last.items().get(0).getOwner());
+  }
 }
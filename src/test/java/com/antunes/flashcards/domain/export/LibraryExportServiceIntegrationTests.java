@@ -0,0 +1,157 @@
+package com.antunes.flashcards.domain.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.deck.importer.DeckImportFormat;
+import com.antunes.flashcards.domain.deck.importer.DeckImportService;
+import com.antunes.flashcards.domain.deck.model.Deck;
+import com.antunes.flashcards.domain.deck.repository.DeckFlashcardRepository;
+import com.antunes.flashcards.domain.deck.repository.DeckRepository;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.flashcard.service.FlashcardService;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@ActiveProfiles("test")
+public class LibraryExportServiceIntegrationTests {
+  @Autowired private LibraryExportService libraryExportService;
+  @Autowired private FlashcardService flashcardService;
+  @Autowired private DeckImportService deckImportService;
+  @Autowired private DeckRepository deckRepository;
+  @Autowired private DeckFlashcardRepository deckFlashcardRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private User otherUser;
+  private List<Long> flashcardIds;
+  private Long deckId;
+  private Long emptyDeckId;
+
+  @BeforeAll
+  void setUp() {
+    passwordResetTokenRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    user = userService.register("user@example.com", "securePassword123");
+    otherUser = userService.register("other@example.com", "securePassword123");
+    flashcardIds =
+        flashcardService.createFlashcards(
+            user,
+            List.of(
+                new FlashcardDraft("plain", "answer"),
+                new FlashcardDraft("with, comma", "with \"quotes\"\nand a newline")));
+    flashcardService.createFlashcards(otherUser, List.of(new FlashcardDraft("hidden", "card")));
+    deckId =
+        deckImportService
+            .importDeck(
+                user,
+                "Deck",
+                new ByteArrayInputStream("q1,a1\nq2,a2\n".getBytes(StandardCharsets.UTF_8)),
+                DeckImportFormat.CSV)
+            .deckId();
+    emptyDeckId = deckRepository.save(Deck.create("Empty", user)).getId();
+  }
+
+  @AfterAll
+  void cleanup() {
+    deckFlashcardRepository.deleteAllInBatch();
+    deckRepository.deleteAllInBatch();
+    flashcardRepository.deleteAllInBatch();
+  }
+
+  private String export(ExportFormat format, boolean decks) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    if (decks) {
+      libraryExportService.exportDecks(user, output, format);
+    } else {
+      libraryExportService.exportFlashcards(user, output, format);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void flashcardsCsv_shouldQuoteSpecialCharacters() {
+    String csv = export(ExportFormat.CSV, false);
+
+    assertTrue(
+        csv.startsWith("id,question,answer\r\n" + flashcardIds.get(0) + ",plain,answer\r\n"));
+    assertTrue(
+        csv.contains(
+            flashcardIds.get(1) + ",\"with, comma\",\"with \"\"quotes\"\"\nand a newline\"\r\n"));
+    assertFalse(csv.contains("hidden"));
+  }
+
+  @Test
+  void flashcardsJsonLines_shouldWriteOneObjectPerCard() throws Exception {
+    String[] lines = export(ExportFormat.JSON_LINES, false).split("\n");
+
+    assertEquals(4, lines.length);
+    JsonNode second = new ObjectMapper().readTree(lines[1]);
+    assertEquals(flashcardIds.get(1).longValue(), second.get("id").asLong());
+    assertEquals("with \"quotes\"\nand a newline", second.get("answer").asText());
+  }
+
+  @Test
+  void decksJsonLines_shouldListCardsInOrderAndEmptyDecks() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    List<JsonNode> rows =
+        export(ExportFormat.JSON_LINES, true)
+            .lines()
+            .map(
+                line -> {
+                  try {
+                    return mapper.readTree(line);
+                  } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                  }
+                })
+            .toList();
+
+    assertEquals(3, rows.size());
+    assertEquals(deckId.longValue(), rows.get(0).get("deck_id").asLong());
+    assertEquals(
+        List.of("q1", "q2"),
+        IntStream.range(0, 2).mapToObj(i -> rows.get(i).get("question").asText()).toList());
+    assertEquals(1, rows.get(1).get("position").asInt());
+    assertEquals(emptyDeckId.longValue(), rows.get(2).get("deck_id").asLong());
+    assertTrue(rows.get(2).get("flashcard_id").isNull());
+  }
+
+  @Test
+  void export_shouldNotLoadEntities() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    export(ExportFormat.CSV, false);
+    export(ExportFormat.CSV, true);
+
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+}
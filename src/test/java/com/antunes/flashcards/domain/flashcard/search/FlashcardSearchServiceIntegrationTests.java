@@ -0,0 +1,146 @@
+package com.antunes.flashcards.domain.flashcard.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardValidationException;
+import com.antunes.flashcards.domain.flashcard.exception.FlashcardWithoutUserException;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardSearchResult;
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.flashcard.service.FlashcardService;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@ActiveProfiles("test")
+public class FlashcardSearchServiceIntegrationTests {
+  @Autowired private FlashcardSearchService flashcardSearchService;
+  @Autowired private FlashcardService flashcardService;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+
+  private User user;
+  private User otherUser;
+  private List<Long> ids;
+
+  @BeforeAll
+  void setUp() {
+    passwordResetTokenRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    user = userService.register("user@example.com", "securePassword123");
+    otherUser = userService.register("other@example.com", "securePassword123");
+    ids =
+        flashcardService.createFlashcards(
+            user,
+            List.of(
+                new FlashcardDraft("What is the capital of France?", "Paris"),
+                new FlashcardDraft("Which river flows through Paris?", "The Seine"),
+                new FlashcardDraft("What is the capital of Italy?", "Rome"),
+                new FlashcardDraft("100% of what?", "snake_case")));
+    flashcardService.createFlashcards(
+        otherUser, List.of(new FlashcardDraft("Paris is in which country?", "France")));
+  }
+
+  @AfterAll
+  void cleanup() {
+    flashcardRepository.deleteAllInBatch();
+  }
+
+  private List<Long> idsOf(List<FlashcardSearchResult> results) {
+    return results.stream().map(FlashcardSearchResult::id).toList();
+  }
+
+  @Test
+  void fallsBackToSubstringsOnH2() {
+    assertFalse(flashcardSearchService.isFullText());
+  }
+
+  @Test
+  void ranksQuestionMatchesAboveAnswerMatches() {
+    List<FlashcardSearchResult> results = flashcardSearchService.search(user, "paris", 10);
+
+    assertEquals(List.of(ids.get(1), ids.get(0)), idsOf(results));
+    assertTrue(results.get(0).rank() > results.get(1).rank());
+  }
+
+  @Test
+  void onlySearchesTheOwnersCards() {
+    assertEquals(
+        List.of(ids.get(0), ids.get(1)),
+        idsOf(flashcardSearchService.search(user, "Paris", 10)).stream().sorted().toList());
+    assertEquals(1, flashcardSearchService.search(otherUser, "paris", 10).size());
+  }
+
+  @Test
+  void requiresEveryWord() {
+    assertEquals(
+        List.of(ids.get(0)), idsOf(flashcardSearchService.search(user, "capital  FRANCE", 10)));
+  }
+
+  @Test
+  void matchesWildcardCharactersLiterally() {
+    assertEquals(List.of(ids.get(3)), idsOf(flashcardSearchService.search(user, "100%", 10)));
+    assertEquals(List.of(ids.get(3)), idsOf(flashcardSearchService.search(user, "e_c", 10)));
+    assertEquals(1, flashcardSearchService.search(user, "%", 10).size());
+  }
+
+  @Test
+  void limitsResults() {
+    List<FlashcardSearchResult> results = flashcardSearchService.search(user, "what", 1);
+
+    assertEquals(1, results.size());
+  }
+
+  @Test
+  void returnsNothingWithoutMatches() {
+    assertTrue(flashcardSearchService.search(user, "madrid", 10).isEmpty());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "   "})
+  void rejectsBlankQuery(String query) {
+    FlashcardValidationException exception =
+        assertThrows(
+            FlashcardValidationException.class,
+            () -> flashcardSearchService.search(user, query, 10));
+    assertEquals("Search query cannot be blank", exception.getMessage());
+  }
+
+  @Test
+  void rejectsTooLongQuery() {
+    assertThrows(
+        FlashcardValidationException.class,
+        () -> flashcardSearchService.search(user, "a".repeat(256), 10));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, FlashcardSearchService.MAX_RESULTS + 1})
+  void rejectsLimitOutOfRange(int limit) {
+    assertThrows(
+        FlashcardValidationException.class,
+        () -> flashcardSearchService.search(user, "paris", limit));
+  }
+
+  @Test
+  void rejectsNullOwner() {
+    assertThrows(
+        FlashcardWithoutUserException.class,
+        () -> flashcardSearchService.search(null, "paris", 10));
+  }
+}
@@ -6,13 +6,23 @@ import com.antunes.flashcards.domain.flashcard.exception.FlashcardNotFoundExcept
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardValidationException;
 import com.antunes.flashcards.domain.flashcard.exception.FlashcardWithoutUserException;
 import com.antunes.flashcards.domain.flashcard.model.Flashcard;
+import com.antunes.flashcards.domain.flashcard.model.FlashcardDraft;
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.pagination.KeysetPage;
+import com.antunes.flashcards.domain.pagination.exception.InvalidPageRequestException;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
 import com.antunes.flashcards.domain.user.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -40,6 +50,8 @@ public class FlashcardServiceIntegrationTests {
   @Autowired private UserService userService;
   @Autowired private UserRepository userRepository;
   @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   private User user;
 
@@ -218,6 +230,110 @@ public class FlashcardServiceIntegrationTests {
     }
   }
 
+  @Nested
+  class CreateFlashcards {
+    private List<FlashcardDraft> drafts(int count) {
+      return IntStream.range(0, count)
+          .mapToObj(i -> new FlashcardDraft("question " + i, "answer " + i))
+          .toList();
+    }
+
+    @Test
+    void shouldReturnIdsInInputOrder() {
+      List<Long> ids = flashcardService.createFlashcards(user, drafts(3));
+
+      assertEquals(3, ids.size());
+      for (int i = 0; i < ids.size(); i++) {
+        assertFlashcardContent(
+            flashcardService.findById(ids.get(i)), "question " + i, "answer " + i, user);
+      }
+      flashcardRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    void largeInsert_shouldUseFewRoundTrips() {
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      List<Long> ids = flashcardService.createFlashcards(user, drafts(10_000));
+
+      assertEquals(10_000, ids.size());
+      assertEquals(10_000, ids.stream().distinct().count());
+      // One owner check, one sequence call per 500 ids and one INSERT batch per 500 rows.
+      assertTrue(statistics.getPrepareStatementCount() <= 45);
+      flashcardRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    void invalidDraft_shouldRejectWholeRequest() {
+      long before = flashcardRepository.count();
+      List<FlashcardDraft> drafts =
+          List.of(new FlashcardDraft(question, answer), new FlashcardDraft(question, " "));
+
+      FlashcardValidationException exception =
+          assertThrows(
+              FlashcardValidationException.class,
+              () -> flashcardService.createFlashcards(user, drafts));
+      assertEquals("Invalid flashcard at index 1", exception.getMessage());
+      assertEquals(before, flashcardRepository.count());
+    }
+
+    @Test
+    void nullOwner_shouldThrow() {
+      FlashcardWithoutUserException exception =
+          assertThrows(
+              FlashcardWithoutUserException.class,
+              () -> flashcardService.createFlashcards(null, drafts(1)));
+      assertEquals(nullUserError, exception.getMessage());
+    }
+  }
+
+  @Nested
+  class ListFlashcards {
+    @Test
+    void shouldWalkAllPagesInIdOrderWithoutGaps() {
+      User owner = userService.register("pages@example.com", "securePassword123");
+      List<Long> ids =
+          flashcardService.createFlashcards(
+              owner,
+              IntStream.range(0, 25)
+                  .mapToObj(i -> new FlashcardDraft("question " + i, "answer " + i))
+                  .toList());
+
+      List<Long> listed = new ArrayList<>();
+      List<Integer> pageSizes = new ArrayList<>();
+      String cursor = null;
+      do {
+        KeysetPage<Flashcard> page = flashcardService.listFlashcards(owner, cursor, 10);
+        page.items().forEach(flashcard -> listed.add(flashcard.getId()));
+        pageSizes.add(page.items().size());
+        cursor = page.nextCursor();
+      } while (cursor != null);
+
+      assertEquals(ids, listed);
+      assertEquals(List.of(10, 10, 5), pageSizes);
+      flashcardRepository.deleteAllByIdInBatch(ids);
+      userRepository.delete(owner);
+    }
+
+    @Test
+    void page_shouldIssueSingleStatement() {
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+
+      flashcardService.listFlashcards(user, null, 10);
+
+      assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void invalidCursor_shouldThrow() {
+      assertThrows(
+          InvalidPageRequestException.class,
+          () -> flashcardService.listFlashcards(user, "not-a-cursor", 10));
+    }
+  }
+
   @Nested
   class UpdateFlashcard {
     @Test
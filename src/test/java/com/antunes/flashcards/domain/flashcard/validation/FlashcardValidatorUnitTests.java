@@ -41,7 +41,9 @@ public class FlashcardValidatorUnitTests {
         Arguments.of(question, "   ", validUser),
         Arguments.of(question, null, validUser),
         Arguments.of("", "", validUser),
-        Arguments.of(null, null, validUser));
+        Arguments.of(null, null, validUser),
+        Arguments.of("q".repeat(FlashcardValidator.MAX_LENGTH + 1), answer, validUser),
+        Arguments.of(question, "a".repeat(FlashcardValidator.MAX_LENGTH + 1), validUser));
   }
 
   @ParameterizedTest
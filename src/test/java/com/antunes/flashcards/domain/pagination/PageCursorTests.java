@@ -0,0 +1,62 @@
+package com.antunes.flashcards.domain.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.pagination.exception.InvalidPageRequestException;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class PageCursorTests {
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 42L, Long.MAX_VALUE})
+  void cursor_shouldRoundTrip(long id) {
+    String cursor = PageCursor.encode(id);
+    assertEquals(id, PageCursor.decode(cursor));
+    assertFalse(cursor.contains(String.valueOf(id)) && id > 9);
+  }
+
+  @Test
+  void missingCursor_shouldStartFromTheBeginning() {
+    assertEquals(0L, PageCursor.decode(null));
+    assertEquals(0L, PageCursor.decode(""));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"abc", "!!!!!!!!!!!", "AAAAAAAAAAAAAAA"})
+  void malformedCursor_shouldThrow(String cursor) {
+    InvalidPageRequestException exception =
+        assertThrows(InvalidPageRequestException.class, () -> PageCursor.decode(cursor));
+    assertEquals("Invalid cursor", exception.getMessage());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, -1, PageCursor.MAX_PAGE_SIZE + 1})
+  void outOfRangeSize_shouldThrow(int size) {
+    assertThrows(InvalidPageRequestException.class, () -> PageCursor.limit(size));
+  }
+
+  @Test
+  void limit_shouldReadOneExtraRow() {
+    assertEquals(11, PageCursor.limit(10).max());
+  }
+
+  @Test
+  void page_shouldTrimExtraRowAndPointPastLastItem() {
+    KeysetPage<Long> page = PageCursor.page(List.of(3L, 5L, 8L), 2, Function.identity());
+
+    assertEquals(List.of(3L, 5L), page.items());
+    assertTrue(page.hasNext());
+    assertEquals(5L, PageCursor.decode(page.nextCursor()));
+  }
+
+  @Test
+  void lastPage_shouldHaveNoCursor() {
+    KeysetPage<Long> page = PageCursor.page(List.of(3L, 5L), 2, Function.identity());
+
+    assertEquals(List.of(3L, 5L), page.items());
+    assertFalse(page.hasNext());
+  }
+}
@@ -0,0 +1,115 @@
+package com.antunes.flashcards.domain.user.auth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.user.exception.PasswordHashingRejectedException;
+import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
+import com.antunes.flashcards.domain.user.model.Password;
+import com.antunes.flashcards.domain.user.model.StubPasswordEncoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PasswordHashingExecutorTests {
+  private PasswordHashingExecutor hashingExecutor;
+
+  @BeforeEach
+  void setUp() {
+    hashingExecutor = new PasswordHashingExecutor(1, 1, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    hashingExecutor.shutdown();
+  }
+
+  @Test
+  void submittedTask_shouldCompleteAndRecordLatency() {
+    String hashed = PasswordHashingExecutor.await(hashingExecutor.submit(() -> "hashed"));
+    assertEquals("hashed", hashed);
+    assertEquals(1, hashingExecutor.getCompletedCount());
+    assertTrue(hashingExecutor.getMaxHashLatency().toNanos() > 0);
+  }
+
+  @Test
+  void saturatedExecutor_shouldRejectFast() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> running =
+        hashingExecutor.submit(
+            () -> {
+              started.countDown();
+              awaitQuietly(release);
+              return null;
+            });
+    started.await();
+    CompletableFuture<String> queued = hashingExecutor.submit(() -> "queued");
+    assertEquals(1, hashingExecutor.getQueueDepth());
+
+    PasswordHashingRejectedException exception =
+        assertThrows(
+            PasswordHashingRejectedException.class, () -> hashingExecutor.submit(() -> "rejected"));
+    assertEquals(
+        "Too many password operations in progress, please try again later", exception.getMessage());
+    assertEquals(1, hashingExecutor.getRejectedCount());
+
+    release.countDown();
+    running.join();
+    assertEquals("queued", queued.join());
+  }
+
+  @Test
+  void chainedWork_shouldRunOffHashingThreads() {
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> chained =
+        hashingExecutor
+            .submit(
+                () -> {
+                  awaitQuietly(release);
+                  return "hashed";
+                })
+            .thenApply(hashed -> Thread.currentThread().getName());
+    release.countDown();
+
+    assertTrue(chained.join().startsWith("password-callback-"));
+  }
+
+  @Test
+  void taskFailure_shouldBeUnwrapped() {
+    CompletableFuture<String> failing =
+        hashingExecutor.submit(
+            () -> {
+              throw new IllegalStateException("boom");
+            });
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> PasswordHashingExecutor.await(failing));
+    assertEquals("boom", exception.getMessage());
+  }
+
+  @Test
+  void passwordFactory_shouldHashOnExecutor() {
+    PasswordFactory passwordFactory =
+        new PasswordFactory(new PasswordValidator(), new StubPasswordEncoder(), hashingExecutor);
+    Password password = passwordFactory.createAsync("securePassword123").join();
+    assertEquals("$2stub$securePassword123", password.getHashedPassword());
+    assertEquals(1, hashingExecutor.getCompletedCount());
+  }
+
+  @Test
+  void passwordFactory_shouldValidateBeforeSubmitting() {
+    PasswordFactory passwordFactory =
+        new PasswordFactory(new PasswordValidator(), new StubPasswordEncoder(), hashingExecutor);
+    assertThrows(PasswordValidationException.class, () -> passwordFactory.createAsync("short"));
+    assertEquals(0, hashingExecutor.getCompletedCount());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
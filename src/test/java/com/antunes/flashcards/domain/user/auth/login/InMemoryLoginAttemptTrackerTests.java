@@ -0,0 +1,166 @@
+package com.antunes.flashcards.domain.user.auth.login;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
+import com.antunes.flashcards.domain.user.auth.model.LoginAttemptSnapshot;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryLoginAttemptTrackerTests {
+  @Mock private LoginAttemptService loginAttemptService;
+  @Mock private AuthExpiryIndex authExpiryIndex;
+
+  private final FixedClockTestConfig fixedClockTestConfig = new FixedClockTestConfig();
+  private ClockService clockService;
+  private InMemoryLoginAttemptTracker tracker;
+  private UserCredentials user;
+
+  @BeforeEach
+  void setUp() {
+    clockService = new ClockService(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+    tracker =
+        new InMemoryLoginAttemptTracker(loginAttemptService, clockService, authExpiryIndex, 2);
+    user = newUser(1L);
+  }
+
+  private UserCredentials newUser(long id) {
+    return new UserCredentials(id, "user" + id + "@example.com", "$2stub$", null, 0, null, null);
+  }
+
+  @Test
+  void fiveFailures_shouldLockOut() {
+    for (int i = 0; i < LoginAttempt.MAX_ATTEMPTS - 1; i++) {
+      tracker.recordLoginOutcome(user, false);
+    }
+    assertFalse(tracker.isLockedOut(user));
+    tracker.recordLoginOutcome(user, false);
+    assertTrue(tracker.isLockedOut(user));
+  }
+
+  @Test
+  void lockout_shouldBeTrackedForExpiryOnce() {
+    for (int i = 0; i < LoginAttempt.MAX_ATTEMPTS + 1; i++) {
+      tracker.recordLoginOutcome(user, false);
+    }
+    verify(authExpiryIndex, times(1))
+        .trackLockout(1L, clockService.plusMinutes(clockService.now(), LoginAttempt.LOCK_MINUTES));
+  }
+
+  @Test
+  void lockout_shouldExpireAfter15Minutes() {
+    for (int i = 0; i < LoginAttempt.MAX_ATTEMPTS; i++) {
+      tracker.recordLoginOutcome(user, false);
+    }
+    fixedClockTestConfig.setTime(clockService, Duration.ofMinutes(15));
+    assertTrue(tracker.isLockedOut(user));
+    fixedClockTestConfig.setTime(clockService, Duration.ofMinutes(1));
+    assertFalse(tracker.isLockedOut(user));
+  }
+
+  @Test
+  void recordLoginOutcome_shouldNotWriteToDatabase() {
+    tracker.recordLoginOutcome(user, false);
+    verifyNoInteractions(loginAttemptService);
+    assertEquals(1, tracker.getPendingCount());
+  }
+
+  @Test
+  void successOnCleanUser_shouldNotTrackOrFlush() {
+    tracker.recordLoginOutcome(user, true);
+    assertEquals(0, tracker.getTrackedCount());
+    assertEquals(0, tracker.flush());
+    verifyNoInteractions(loginAttemptService);
+  }
+
+  @Test
+  void isLockedOut_shouldSeedFromPersistedAttempt() {
+    UserCredentials persisted =
+        new UserCredentials(
+            1L,
+            "user1@example.com",
+            "$2stub$",
+            7L,
+            LoginAttempt.MAX_ATTEMPTS,
+            clockService.now(),
+            clockService.plusMinutes(clockService.now(), LoginAttempt.LOCK_MINUTES));
+    assertTrue(tracker.isLockedOut(persisted));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void flush_shouldPersistInBatches() {
+    for (long id = 1; id <= 5; id++) {
+      tracker.recordLoginOutcome(newUser(id), false);
+    }
+    ArgumentCaptor<Map<Long, LoginAttemptSnapshot>> captor = ArgumentCaptor.forClass(Map.class);
+
+    assertEquals(5, tracker.flush());
+
+    verify(loginAttemptService, times(3)).persistSnapshots(captor.capture());
+    assertEquals(
+        5, captor.getAllValues().stream().mapToInt(Map::size).sum(), "every user is flushed once");
+    assertEquals(0, tracker.getPendingCount());
+    assertEquals(0, tracker.flush());
+  }
+
+  @Test
+  void flush_shouldEvictCleanEntriesAfterPersisting() {
+    tracker.recordLoginOutcome(user, false);
+    tracker.recordLoginOutcome(user, true);
+    assertEquals(1, tracker.getTrackedCount());
+
+    tracker.flush();
+
+    assertEquals(0, tracker.getTrackedCount());
+  }
+
+  @Test
+  void failedFlush_shouldKeepChangesPending() {
+    tracker.recordLoginOutcome(user, false);
+    doThrow(new IllegalStateException("database down"))
+        .when(loginAttemptService)
+        .persistSnapshots(anyMap());
+
+    assertThrows(IllegalStateException.class, () -> tracker.flush());
+
+    assertEquals(1, tracker.getPendingCount());
+  }
+
+  @Test
+  void concurrentFailures_shouldAllBeCounted() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      tasks.add(() -> tracker.recordLoginOutcome(user, false));
+    }
+    tasks.forEach(executor::execute);
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    tracker.flush();
+    ArgumentCaptor<Map<Long, LoginAttemptSnapshot>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(loginAttemptService).persistSnapshots(captor.capture());
+    assertEquals(400, captor.getValue().get(1L).attemptCount());
+  }
+}
@@ -6,9 +6,12 @@ import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
 import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
 import com.antunes.flashcards.domain.user.auth.repository.LoginAttemptRepository;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
 import com.antunes.flashcards.domain.user.service.UserService;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
 import com.antunes.flashcards.infrastructure.time.ClockService;
 import jakarta.transaction.Transactional;
 import java.time.Clock;
@@ -42,6 +45,7 @@ public class LoginAttemptServiceTests {
   @Autowired private LoginAttemptRepository loginAttemptRepository;
   @Autowired private FixedClockTestConfig fixedClockTestConfig;
   @Autowired private ClockService clockService;
+  @Autowired private AuthExpiryIndex authExpiryIndex;
 
   private User user;
 
@@ -183,4 +187,62 @@ public class LoginAttemptServiceTests {
     loginAttemptService.unlockIfEligible(user);
     assertFalse(loginAttemptService.isLocked(user));
   }
+
+  private UserCredentials credentials() {
+    return userRepository.findCredentialsByEmail(new Email(rawEmail)).get();
+  }
+
+  @Test
+  void recordLoginOutcome_shouldCreateAttemptOnFirstFailure() {
+    loginAttemptRepository.deleteAll();
+    loginAttemptRepository.flush();
+    loginAttemptService.recordLoginOutcome(credentials(), false);
+    assertEquals(1, loginAttemptService.getAttemptCount(user));
+  }
+
+  @Test
+  void recordLoginOutcome_shouldNotCreateAttemptOnSuccess() {
+    loginAttemptRepository.deleteAll();
+    loginAttemptRepository.flush();
+    loginAttemptService.recordLoginOutcome(credentials(), true);
+    assertTrue(loginAttemptRepository.findByUser(user).isEmpty());
+  }
+
+  @Test
+  void recordLoginOutcome_shouldLockOnFifthFailure() {
+    for (int i = 0; i < 5; i++) {
+      loginAttemptService.recordLoginOutcome(credentials(), false);
+    }
+    assertTrue(loginAttemptService.isLocked(user));
+    assertTrue(loginAttemptService.isLockedOut(credentials()));
+  }
+
+  @Test
+  void recordLoginOutcome_shouldUnlockAndResetOnSuccessAfter15() {
+    for (int i = 0; i < 5; i++) {
+      loginAttemptService.recordLoginOutcome(credentials(), false);
+    }
+    fixedClockTestConfig.setTime(clockService, Duration.ofMinutes(16));
+    assertFalse(loginAttemptService.isLockedOut(credentials()));
+
+    loginAttemptService.recordLoginOutcome(credentials(), true);
+    assertFalse(loginAttemptService.isLocked(user));
+    assertEquals(0, loginAttemptService.getAttemptCount(user));
+  }
+
+  @Test
+  void inMemoryTracker_lockoutShouldSurviveRestart() {
+    InMemoryLoginAttemptTracker tracker =
+        new InMemoryLoginAttemptTracker(loginAttemptService, clockService, authExpiryIndex, 100);
+    UserCredentials credentials = credentials();
+    for (int i = 0; i < 5; i++) {
+      tracker.recordLoginOutcome(credentials, false);
+    }
+    assertEquals(1, tracker.flush());
+    assertTrue(loginAttemptService.isLocked(user));
+
+    InMemoryLoginAttemptTracker restarted =
+        new InMemoryLoginAttemptTracker(loginAttemptService, clockService, authExpiryIndex, 100);
+    assertTrue(restarted.isLockedOut(credentials()));
+  }
 }
@@ -11,16 +11,28 @@ import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.exception.UserTimeoutException;
+import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
 import com.antunes.flashcards.domain.user.service.UserService;
 import com.antunes.flashcards.infrastructure.time.ClockService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -42,6 +54,7 @@ public class LoginServiceIntegrationTests {
   @Autowired private LoginAttemptService loginAttemptService;
   @Autowired private LoginAttemptRepository loginAttemptRepository;
   @Autowired private FixedClockTestConfig fixedClockTestConfig;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   private final String rawEmail = "user@example.com";
   private final String notRegisteredEmail = "notthere@example.com";
@@ -153,4 +166,83 @@ public class LoginServiceIntegrationTests {
       assertEquals(0, loginAttemptRepository.findByUser(user).get().getAttemptCount());
     }
   }
+
+  @Test
+  void successfulLogin_shouldIssueSingleStatement() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    loginService.login(rawEmail, rawPassword);
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  // The credentials read, the relative update and a read of the resulting lock.
+  @Test
+  void failedLogin_shouldIssueThreeStatements() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    assertThrows(
+        PasswordValidationException.class, () -> loginService.login(rawEmail, incorrectPassword));
+    assertEquals(3, statistics.getPrepareStatementCount());
+    assertEquals(1, loginAttemptRepository.findByUser(user).get().getAttemptCount());
+  }
+
+  @Test
+  void successfulLoginAfterFailures_shouldIssueOneReadAndOneWrite() {
+    assertThrows(
+        PasswordValidationException.class, () -> loginService.login(rawEmail, incorrectPassword));
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    loginService.login(rawEmail, rawPassword);
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, loginAttemptRepository.findByUser(user).get().getAttemptCount());
+  }
+
+  @Test
+  void concurrentFailures_shouldEachCountTowardsLockout() throws InterruptedException {
+    UserCredentials stale = userRepository.findCredentialsByEmail(new Email(rawEmail)).get();
+    ExecutorService executor = Executors.newFixedThreadPool(LoginAttempt.MAX_ATTEMPTS);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int i = 0; i < LoginAttempt.MAX_ATTEMPTS; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            loginAttemptService.recordLoginOutcome(stale, false);
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    LoginAttempt loginAttempt = loginAttemptRepository.findByUser(user).get();
+    assertEquals(LoginAttempt.MAX_ATTEMPTS, loginAttempt.getAttemptCount());
+    assertTrue(loginAttempt.isLocked());
+  }
+
+  @Test
+  void concurrentFirstFailures_shouldCreateOneAttempt() throws InterruptedException {
+    loginAttemptRepository.deleteAll();
+    UserCredentials stale = userRepository.findCredentialsByEmail(new Email(rawEmail)).get();
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Object>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                start.await();
+                loginAttemptService.recordLoginOutcome(stale, false);
+                return null;
+              }));
+    }
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    for (Future<Object> result : results) {
+      assertDoesNotThrow(() -> result.get());
+    }
+    assertEquals(3, loginAttemptRepository.findByUser(user).get().getAttemptCount());
+  }
 }
@@ -3,16 +3,20 @@ package com.antunes.flashcards.domain.user.auth.login;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.antunes.flashcards.domain.user.auth.PasswordHashingExecutor;
+import com.antunes.flashcards.domain.user.auth.refresh.RefreshTokenService;
+import com.antunes.flashcards.domain.user.auth.token.AuthTokens;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
 import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
 import com.antunes.flashcards.domain.user.exception.UserNotFoundException;
 import com.antunes.flashcards.domain.user.exception.UserTimeoutException;
 import com.antunes.flashcards.domain.user.model.Email;
-import com.antunes.flashcards.domain.user.model.Password;
 import com.antunes.flashcards.domain.user.model.StubPasswordEncoder;
-import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.model.UserCredentials;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.RegisteredEmailFilter;
+import com.antunes.flashcards.infrastructure.security.CalibratedBCryptPasswordEncoder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -24,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,25 +43,34 @@ public class LoginServiceUnitTests {
   private LoginService loginService;
 
   @Mock UserRepository userRepository;
-  @Mock private LoginAttemptService loginAttemptService;
+  @Mock private LoginAttemptTracker loginAttemptTracker;
+  @Mock private RefreshTokenService refreshTokenService;
 
   private final PasswordEncoder passwordEncoder = new StubPasswordEncoder();
+  private RegisteredEmailFilter registeredEmailFilter;
 
   @BeforeEach
   void setUp() {
     JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
     jwtTokenProvider.setSecretKey(secretKey);
+    registeredEmailFilter = new RegisteredEmailFilter(1000, 0.01);
     loginService =
-        new LoginService(userRepository, passwordEncoder, jwtTokenProvider, loginAttemptService);
+        new LoginService(
+            userRepository,
+            passwordEncoder,
+            jwtTokenProvider,
+            loginAttemptTracker,
+            new PasswordHashingExecutor(1, 4, 1),
+            registeredEmailFilter,
+            refreshTokenService);
   }
 
   @Test
   void registeredUserCanLoginCorrectPassword() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
     String token = loginService.login(rawEmail, rawPassword);
     assertNotNull(token);
   }
@@ -64,10 +78,9 @@ public class LoginServiceUnitTests {
   @Test
   void registeredUserCannotLoginIncorrectPassword_shouldThrow() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
     PasswordValidationException exception =
         assertThrows(
             PasswordValidationException.class,
@@ -78,19 +91,27 @@ public class LoginServiceUnitTests {
   @Test
   void unregisteredUserCannotLogin_shouldThrow() {
     Email email = new Email(rawEmail);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.empty());
     UserNotFoundException exception =
         assertThrows(UserNotFoundException.class, () -> loginService.login(rawEmail, rawPassword));
     assertEquals("No accounts with this email", exception.getMessage());
   }
 
+  @Test
+  void unregisteredUserRuledOutByFilter_shouldThrowWithoutQuery() {
+    registeredEmailFilter.markReady();
+    UserNotFoundException exception =
+        assertThrows(UserNotFoundException.class, () -> loginService.login(rawEmail, rawPassword));
+    assertEquals("No accounts with this email", exception.getMessage());
+    verifyNoInteractions(userRepository);
+  }
+
   @Test
   void loginShouldReturnValidJwtTokenContainingUserEmail() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
     String token = loginService.login(rawEmail, rawPassword);
     assertDoesNotThrow(
         () -> {
@@ -101,38 +122,52 @@ public class LoginServiceUnitTests {
         });
   }
 
+  @Test
+  void loginWithRefresh_shouldIssueRefreshTokenOnCallingThread() {
+    Email email = new Email(rawEmail);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+    Thread caller = Thread.currentThread();
+    when(refreshTokenService.issue(1L))
+        .thenAnswer(invocation -> Thread.currentThread() == caller ? "refresh" : "pooled");
+
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+
+    assertEquals("refresh", tokens.refreshToken());
+  }
+
   @Test
   void onFiveFailedLoginAttempts_shouldLock() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
-    when(loginAttemptService.isLocked(mockedUser)).thenReturn(false);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+    when(loginAttemptTracker.isLockedOut(credentials)).thenReturn(false);
 
     for (int i = 0; i < 5; i++) {
       assertThrows(
           PasswordValidationException.class, () -> loginService.login(rawEmail, incorrectPassword));
     }
 
-    when(loginAttemptService.isLocked(mockedUser)).thenReturn(true);
+    when(loginAttemptTracker.isLockedOut(credentials)).thenReturn(true);
 
     UserTimeoutException exception =
         assertThrows(
             UserTimeoutException.class, () -> loginService.login(rawEmail, incorrectPassword));
     assertEquals("Your account was timedout for 15 minutes", exception.getMessage());
+    verify(loginAttemptTracker, times(5)).recordLoginOutcome(credentials, false);
   }
 
   @Test
   void onSuccessfulLogin_shouldResetCount() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
-    when(loginAttemptService.isLocked(mockedUser)).thenReturn(false);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+    when(loginAttemptTracker.isLockedOut(credentials)).thenReturn(false);
 
     for (int i = 0; i < 4; i++) {
       assertThrows(
@@ -140,47 +175,83 @@ public class LoginServiceUnitTests {
     }
 
     assertDoesNotThrow(() -> loginService.login(rawEmail, rawPassword));
-    verify(loginAttemptService).onSuccessfulLogin(mockedUser);
+    verify(loginAttemptTracker, times(4)).recordLoginOutcome(credentials, false);
+    verify(loginAttemptTracker).recordLoginOutcome(credentials, true);
   }
 
   @Test
   void shouldUnlockAfter15Minutes() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
-
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
-
-    // Simulate locked but eligible for unlock
-    when(loginAttemptService.isLocked(mockedUser)).thenReturn(true).thenReturn(false);
-    doAnswer(
-            invocation -> {
-              when(loginAttemptService.isLocked(mockedUser)).thenReturn(false);
-              return null;
-            })
-        .when(loginAttemptService)
-        .unlockIfEligible(mockedUser);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+
+    // Locked but eligible for unlock is not reported as locked out
+    when(loginAttemptTracker.isLockedOut(credentials)).thenReturn(false);
 
     assertDoesNotThrow(() -> loginService.login(rawEmail, rawPassword));
-    verify(loginAttemptService).onSuccessfulLogin(mockedUser);
+    verify(loginAttemptTracker).recordLoginOutcome(credentials, true);
   }
 
   @Test
   void multipleSuccessfulLogins_shouldAlwaysSucceed() {
     Email email = new Email(rawEmail);
-    Password mockedPassword = mock(Password.class);
-    when(mockedPassword.getHashedPassword()).thenReturn("$2stub$" + rawPassword);
-    User mockedUser = new User(email, mockedPassword);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(mockedUser));
-    when(loginAttemptService.isLocked(mockedUser)).thenReturn(false);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+    when(loginAttemptTracker.isLockedOut(credentials)).thenReturn(false);
 
     for (int i = 0; i < 3; i++) {
       String token = loginService.login(rawEmail, rawPassword);
       assertNotNull(token);
     }
 
-    verify(loginAttemptService, times(3)).onSuccessfulLogin(mockedUser);
+    verify(loginAttemptTracker, times(3)).recordLoginOutcome(credentials, true);
+  }
+
+  @Test
+  void successfulLoginWithOutdatedCost_shouldRehashPassword() {
+    CalibratedBCryptPasswordEncoder calibratedEncoder = new CalibratedBCryptPasswordEncoder(4);
+    JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+    jwtTokenProvider.setSecretKey(secretKey);
+    loginService =
+        new LoginService(
+            userRepository,
+            calibratedEncoder,
+            jwtTokenProvider,
+            loginAttemptTracker,
+            new PasswordHashingExecutor(1, 4, 1),
+            registeredEmailFilter,
+            refreshTokenService);
+    Email email = new Email(rawEmail);
+    String outdatedHash = new BCryptPasswordEncoder(5).encode(rawPassword);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, outdatedHash, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+
+    assertNotNull(loginService.login(rawEmail, rawPassword));
+
+    verify(userRepository, timeout(2000))
+        .updateHashedPassword(
+            eq(1L),
+            eq(outdatedHash),
+            argThat(
+                newHash ->
+                    newHash.startsWith("$2a$04$")
+                        && calibratedEncoder.matches(rawPassword, newHash)));
+  }
+
+  @Test
+  void successfulLoginWithCurrentCost_shouldNotRehashPassword() {
+    Email email = new Email(rawEmail);
+    UserCredentials credentials =
+        new UserCredentials(1L, rawEmail, "$2stub$" + rawPassword, null, 0, null, null);
+    when(userRepository.findCredentialsByEmail(email)).thenReturn(Optional.of(credentials));
+
+    assertNotNull(loginService.login(rawEmail, rawPassword));
+
+    verify(userRepository, never()).updateHashedPassword(any(), any(), any());
   }
 }
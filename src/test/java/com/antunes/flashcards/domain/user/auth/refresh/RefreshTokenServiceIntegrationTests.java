@@ -0,0 +1,214 @@
+package com.antunes.flashcards.domain.user.auth.refresh;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.user.auth.login.FixedClockTestConfig;
+import com.antunes.flashcards.domain.user.auth.login.LoginService;
+import com.antunes.flashcards.domain.user.auth.model.RefreshToken;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.auth.repository.RefreshTokenRepository;
+import com.antunes.flashcards.domain.user.auth.reset.PasswordResetService;
+import com.antunes.flashcards.domain.user.auth.token.AuthTokens;
+import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
+import com.antunes.flashcards.domain.user.auth.token.TokenType;
+import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
+import com.antunes.flashcards.domain.user.exception.TokenValidationException;
+import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import com.antunes.flashcards.infrastructure.maintenance.RefreshTokenCleanupResult;
+import com.antunes.flashcards.infrastructure.maintenance.RefreshTokenCleanupService;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@Import(FixedClockTestConfig.class)
+@ActiveProfiles("test")
+public class RefreshTokenServiceIntegrationTests {
+  private final String rawEmail = "user@example.com";
+  private final String rawPassword = "securePassword123";
+
+  @Autowired private LoginService loginService;
+  @Autowired private RefreshTokenService refreshTokenService;
+  @Autowired private RefreshTokenRepository refreshTokenRepository;
+  @Autowired private RefreshTokenCleanupService refreshTokenCleanupService;
+  @Autowired private PasswordResetService passwordResetService;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private JwtTokenProvider jwtTokenProvider;
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private ClockService clockService;
+  @Autowired private FixedClockTestConfig fixedClockTestConfig;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private User user;
+
+  @BeforeAll
+  void setUp() {
+    passwordResetTokenRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    user = userService.register(rawEmail, rawPassword);
+  }
+
+  @BeforeEach
+  void resetClock() {
+    clockService.setClock(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+    refreshTokenRepository.deleteAll();
+  }
+
+  @Test
+  void loginWithRefresh_shouldIssueBothTokens() {
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+
+    assertEquals(
+        user.getId(), jwtTokenProvider.verify(tokens.authToken(), TokenType.AUTH).userId());
+    RefreshToken stored = refreshTokenRepository.findAll().get(0);
+    assertEquals(TokenDigest.sha256(tokens.refreshToken()), stored.getTokenHash());
+    assertNotEquals(tokens.refreshToken(), stored.getTokenHash());
+  }
+
+  @Test
+  void refresh_shouldRotateWithinFamily() {
+    AuthTokens first = loginService.loginWithRefresh(rawEmail, rawPassword);
+
+    AuthTokens second = loginService.refresh(first.refreshToken());
+
+    assertNotEquals(first.refreshToken(), second.refreshToken());
+    assertEquals(rawEmail, jwtTokenProvider.verify(second.authToken(), TokenType.AUTH).subject());
+    assertEquals(2, refreshTokenRepository.count());
+    assertEquals(
+        1,
+        refreshTokenRepository.findAll().stream()
+            .map(RefreshToken::getFamilyId)
+            .distinct()
+            .count());
+    assertDoesNotThrow(() -> loginService.refresh(second.refreshToken()));
+  }
+
+  @Test
+  void refresh_shouldReadOnceAndWriteTwice() {
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    refreshTokenService.refresh(tokens.refreshToken());
+
+    assertEquals(3, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void reusedToken_shouldRevokeWholeFamily() {
+    AuthTokens first = loginService.loginWithRefresh(rawEmail, rawPassword);
+    AuthTokens second = loginService.refresh(first.refreshToken());
+
+    TokenValidationException reuse =
+        assertThrows(
+            TokenValidationException.class, () -> loginService.refresh(first.refreshToken()));
+    assertEquals("Refresh token reuse detected", reuse.getMessage());
+
+    TokenValidationException revoked =
+        assertThrows(
+            TokenValidationException.class, () -> loginService.refresh(second.refreshToken()));
+    assertEquals("Refresh token has been revoked", revoked.getMessage());
+  }
+
+  @Test
+  void reuse_shouldNotRevokeOtherFamilies() {
+    AuthTokens stolen = loginService.loginWithRefresh(rawEmail, rawPassword);
+    AuthTokens otherDevice = loginService.loginWithRefresh(rawEmail, rawPassword);
+    loginService.refresh(stolen.refreshToken());
+
+    assertThrows(TokenValidationException.class, () -> loginService.refresh(stolen.refreshToken()));
+
+    assertDoesNotThrow(() -> loginService.refresh(otherDevice.refreshToken()));
+  }
+
+  @Test
+  void expiredToken_shouldThrow() {
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+    fixedClockTestConfig.setTime(clockService, Duration.ofDays(31));
+
+    assertThrows(TokenExpiredException.class, () -> loginService.refresh(tokens.refreshToken()));
+    assertEquals(1, refreshTokenCleanupService.cleanupExpiredTokens().expiredDeleted());
+  }
+
+  @Test
+  void cleanup_shouldDeleteExpiredTokensInBoundedBatches() {
+    for (int i = 0; i < 5; i++) {
+      loginService.loginWithRefresh(rawEmail, rawPassword);
+    }
+    fixedClockTestConfig.setTime(clockService, Duration.ofDays(31));
+    AuthTokens live = loginService.loginWithRefresh(rawEmail, rawPassword);
+    RefreshTokenCleanupService batchedCleanupService =
+        new RefreshTokenCleanupService(refreshTokenRepository, clockService, 2, 0, 30_000);
+
+    RefreshTokenCleanupResult result = batchedCleanupService.cleanupExpiredTokens();
+
+    assertEquals(5, result.expiredDeleted());
+    assertEquals(3, result.batches());
+    assertFalse(result.budgetExhausted());
+    assertEquals(1, refreshTokenRepository.count());
+    assertDoesNotThrow(() -> loginService.refresh(live.refreshToken()));
+  }
+
+  @Test
+  void cleanup_shouldStopWhenTimeBudgetIsSpent() {
+    for (int i = 0; i < 3; i++) {
+      loginService.loginWithRefresh(rawEmail, rawPassword);
+    }
+    fixedClockTestConfig.setTime(clockService, Duration.ofDays(31));
+    RefreshTokenCleanupService budgetedCleanupService =
+        new RefreshTokenCleanupService(refreshTokenRepository, clockService, 2, 0, 0);
+
+    RefreshTokenCleanupResult result = budgetedCleanupService.cleanupExpiredTokens();
+
+    assertEquals(0, result.batches());
+    assertTrue(result.budgetExhausted());
+    assertEquals(3, refreshTokenRepository.count());
+  }
+
+  @Test
+  void unknownOrBlankToken_shouldBeInvalid() {
+    assertThrows(TokenValidationException.class, () -> loginService.refresh("unknown"));
+    assertThrows(TokenValidationException.class, () -> loginService.refresh(" "));
+  }
+
+  @Test
+  void logout_shouldRevokeRefreshFamily() {
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+
+    loginService.logout(tokens.authToken(), tokens.refreshToken());
+
+    assertThrows(TokenValidationException.class, () -> loginService.refresh(tokens.refreshToken()));
+    assertThrows(
+        TokenValidationException.class,
+        () -> jwtTokenProvider.verify(tokens.authToken(), TokenType.AUTH));
+  }
+
+  @Test
+  void passwordReset_shouldRevokeAllRefreshTokens() {
+    AuthTokens tokens = loginService.loginWithRefresh(rawEmail, rawPassword);
+    String resetToken = passwordResetService.reset(rawEmail);
+
+    passwordResetService.resetPassword(resetToken, rawPassword);
+
+    assertThrows(TokenValidationException.class, () -> loginService.refresh(tokens.refreshToken()));
+  }
+}
@@ -6,6 +6,7 @@ import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
 import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.exception.*;
 import com.antunes.flashcards.domain.user.model.User;
@@ -14,11 +15,14 @@ import com.antunes.flashcards.domain.user.service.UserService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,6 +52,8 @@ public class PasswordResetServiceIntegrationTests {
 
   private User user;
 
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
   @PersistenceContext EntityManager entityManager;
 
   @BeforeAll
@@ -204,4 +210,35 @@ public class PasswordResetServiceIntegrationTests {
     PasswordResetToken tokenEntity = passwordResetTokenRepository.findByToken(token).get();
     assertTrue(tokenEntity.isUsed());
   }
+
+  @Test
+  void storedToken_shouldBeFixedWidthDigest() {
+    String token = passwordResetService.reset(rawEmail);
+    PasswordResetToken tokenEntity = passwordResetTokenRepository.findByToken(token).get();
+    assertEquals(TokenDigest.sha256(token), tokenEntity.getTokenHash());
+    assertEquals(43, tokenEntity.getTokenHash().length());
+    assertNotEquals(token, tokenEntity.getTokenHash());
+  }
+
+  @Test
+  void findByToken_withNullToken_shouldBeEmpty() {
+    assertTrue(passwordResetTokenRepository.findByToken(null).isEmpty());
+  }
+
+  @Test
+  void resetPassword_shouldNotLoadUserOrCollections() {
+    String token = passwordResetService.reset(rawEmail);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    passwordResetService.resetPassword(token, newRawPassword);
+
+    assertEquals(0, statistics.getCollectionLoadCount());
+    assertEquals(1, statistics.getEntityLoadCount());
+    // Token lookup, mark used, password update and refresh token revocation.
+    assertEquals(4, statistics.getPrepareStatementCount());
+    assertEquals(1, userRepository.count());
+    User savedUser = userService.findByEmail(rawEmail).get();
+    assertTrue(passwordEncoder.matches(newRawPassword, savedUser.getHashedPassword()));
+  }
 }
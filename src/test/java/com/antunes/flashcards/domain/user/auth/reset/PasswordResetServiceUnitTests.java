@@ -6,29 +6,34 @@ import static org.mockito.Mockito.*;
 import com.antunes.flashcards.domain.user.auth.PasswordFactory;
 import com.antunes.flashcards.domain.user.auth.PasswordValidator;
 import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
+import com.antunes.flashcards.domain.user.auth.refresh.RefreshTokenService;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenClaims;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.exception.*;
 import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.Password;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.RegisteredEmailFilter;
+import com.antunes.flashcards.infrastructure.maintenance.AuthExpiryIndex;
+import com.antunes.flashcards.infrastructure.time.ClockService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import jakarta.persistence.EntityManager;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import javax.crypto.SecretKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -47,9 +52,13 @@ public class PasswordResetServiceUnitTests {
   @Mock private PasswordEncoder passwordEncoder;
   @Mock private UserRepository userRepository;
   @Mock private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Mock private AuthExpiryIndex authExpiryIndex;
+  @Mock private RefreshTokenService refreshTokenService;
   private PasswordValidator passwordValidator;
   private PasswordFactory passwordFactory;
   private JwtTokenProvider jwtTokenProvider;
+  private RegisteredEmailFilter registeredEmailFilter;
+  private PasswordResetThrottle passwordResetThrottle;
 
   public String generateExpiredResetToken(String subject) {
     return Jwts.builder()
@@ -61,17 +70,164 @@ public class PasswordResetServiceUnitTests {
         .compact();
   }
 
-  @Captor ArgumentCaptor<User> userCaptor;
-
   @BeforeEach
   void setUp() {
     jwtTokenProvider = new JwtTokenProvider();
     jwtTokenProvider.setSecretKey(secretKey);
     passwordValidator = new PasswordValidator();
     passwordFactory = new PasswordFactory(passwordValidator, passwordEncoder);
+    registeredEmailFilter = new RegisteredEmailFilter(1000, 0.01);
+    passwordResetThrottle =
+        new PasswordResetThrottle(
+            new ClockService(Clock.systemDefaultZone()), true, 2, 300, 3, 30, 1000);
     passwordResetService =
         new PasswordResetService(
-            userRepository, passwordFactory, jwtTokenProvider, passwordResetTokenRepository);
+            userRepository,
+            passwordFactory,
+            jwtTokenProvider,
+            passwordResetTokenRepository,
+            registeredEmailFilter,
+            authExpiryIndex,
+            passwordResetThrottle,
+            refreshTokenService,
+            ResetMode.TABLE);
+  }
+
+  private PasswordResetService statelessService() {
+    return new PasswordResetService(
+        userRepository,
+        passwordFactory,
+        jwtTokenProvider,
+        passwordResetTokenRepository,
+        registeredEmailFilter,
+        authExpiryIndex,
+        passwordResetThrottle,
+        refreshTokenService,
+        ResetMode.STATELESS);
+  }
+
+  private User userWithPassword(String hashedPassword) {
+    when(passwordEncoder.encode(oldRawPassword)).thenReturn(hashedPassword);
+    User user = new User(new Email(rawEmail), passwordFactory.create(oldRawPassword));
+    ReflectionTestUtils.setField(user, "id", 1L);
+    when(userRepository.findByEmail(new Email(rawEmail))).thenReturn(Optional.of(user));
+    return user;
+  }
+
+  @Test
+  void statelessReset_shouldNotTouchTokenTable() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    String token = statelessService().reset(rawEmail);
+
+    TokenClaims claims = jwtTokenProvider.verify(token, TokenType.RESET);
+    assertEquals(
+        PasswordResetService.fingerprint(secretKey, "$2stub$" + oldRawPassword),
+        claims.passwordFingerprint());
+    verifyNoInteractions(passwordResetTokenRepository, authExpiryIndex);
+  }
+
+  @Test
+  void statelessFingerprint_shouldBeKeyedWithSigningKey() {
+    String hash = "$2stub$" + oldRawPassword;
+    SecretKey otherKey =
+        Keys.hmacShaKeyFor("another-secret-key-that-is-32-bytes".getBytes(StandardCharsets.UTF_8));
+
+    assertNotEquals(TokenDigest.sha256(hash), PasswordResetService.fingerprint(secretKey, hash));
+    assertNotEquals(
+        PasswordResetService.fingerprint(otherKey, hash),
+        PasswordResetService.fingerprint(secretKey, hash));
+  }
+
+  @Test
+  void statelessToken_shouldSurviveKeyRotation() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    String token = statelessService().reset(rawEmail);
+    // As after a restart with a new secret and the old one in previous-secrets.
+    jwtTokenProvider = new JwtTokenProvider();
+    jwtTokenProvider.setSecretKeys(
+        Keys.hmacShaKeyFor("another-secret-key-that-is-32-bytes".getBytes(StandardCharsets.UTF_8)),
+        List.of(secretKey));
+    when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
+    when(userRepository.updateHashedPassword(
+            1L, "$2stub$" + oldRawPassword, "$2stub$" + newRawPassword))
+        .thenReturn(1);
+
+    assertDoesNotThrow(() -> statelessService().resetPassword(token, newRawPassword));
+  }
+
+  @Test
+  void statelessResetPassword_shouldUpdateHashConditionally() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    PasswordResetService service = statelessService();
+    String token = service.reset(rawEmail);
+    when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
+    when(userRepository.updateHashedPassword(
+            1L, "$2stub$" + oldRawPassword, "$2stub$" + newRawPassword))
+        .thenReturn(1);
+
+    assertDoesNotThrow(() -> service.resetPassword(token, newRawPassword));
+    verifyNoInteractions(passwordResetTokenRepository);
+  }
+
+  @Test
+  void statelessToken_shouldBeRejectedAfterPasswordChange() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    PasswordResetService service = statelessService();
+    String token = service.reset(rawEmail);
+    userWithPassword("$2stub$changed");
+
+    TokenExpiredException exception =
+        assertThrows(
+            TokenExpiredException.class, () -> service.resetPassword(token, newRawPassword));
+    assertEquals("Token is either expired or already used", exception.getMessage());
+    verify(userRepository, never()).updateHashedPassword(any(), any(), any());
+  }
+
+  @Test
+  void statelessToken_shouldBeRejectedWhenUsedConcurrently() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    PasswordResetService service = statelessService();
+    String token = service.reset(rawEmail);
+    when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
+    when(userRepository.updateHashedPassword(any(), any(), any())).thenReturn(0);
+
+    assertThrows(TokenExpiredException.class, () -> service.resetPassword(token, newRawPassword));
+  }
+
+  @Test
+  void tableToken_shouldBeRejectedInStatelessMode() {
+    userWithPassword("$2stub$" + oldRawPassword);
+    String token = passwordResetService.reset(rawEmail);
+
+    assertThrows(
+        TokenExpiredException.class, () -> statelessService().resetPassword(token, newRawPassword));
+  }
+
+  @Test
+  void tooManyResetsForEmail_shouldThrottleBeforeLookup() {
+    Email email = new Email(rawEmail);
+    User user = new User(email, mock(Password.class));
+    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    passwordResetService.reset(rawEmail);
+    passwordResetService.reset(rawEmail);
+
+    assertThrows(ResetThrottledException.class, () -> passwordResetService.reset(rawEmail));
+    verify(userRepository, times(2)).findByEmail(email);
+    assertEquals(1, passwordResetThrottle.getThrottledByEmailCount());
+  }
+
+  @Test
+  void tooManyResetsFromAddress_shouldThrottleAcrossEmails() {
+    for (int i = 0; i < 3; i++) {
+      String unknown = "unknown" + i + "@example.com";
+      assertThrows(
+          UserNotFoundException.class, () -> passwordResetService.reset(unknown, "10.0.0.1"));
+    }
+    assertThrows(
+        ResetThrottledException.class,
+        () -> passwordResetService.reset("other@example.com", "10.0.0.1"));
+    assertEquals(1, passwordResetThrottle.getThrottledByAddressCount());
+    verify(userRepository, never()).findByEmail(new Email("other@example.com"));
   }
 
   @Test
@@ -83,6 +239,7 @@ public class PasswordResetServiceUnitTests {
     assertNotNull(token);
     assertFalse(token.isEmpty());
     assertDoesNotThrow(() -> jwtTokenProvider.validateToken(token, TokenType.RESET));
+    verify(authExpiryIndex).trackResetToken(any(), any(Instant.class));
   }
 
   @Test
@@ -113,29 +270,25 @@ public class PasswordResetServiceUnitTests {
     when(passwordEncoder.encode(oldRawPassword)).thenReturn("$2stub$" + oldRawPassword);
     Password oldPassword = passwordFactory.create(oldRawPassword);
     User user = new User(email, oldPassword);
+    ReflectionTestUtils.setField(user, "id", 1L);
     when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
     when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
 
     String token = passwordResetService.reset(rawEmail);
-    PasswordResetToken resetToken = mock(PasswordResetToken.class);
-    when(passwordResetTokenRepository.findByToken(token))
-        .thenReturn(Optional.ofNullable(resetToken));
-    when(resetToken.isUsable()).thenReturn(true);
-
-    EntityManager entityManager = mock(EntityManager.class);
-    when(entityManager.merge(any())).thenAnswer(invocation -> invocation.getArgument(0));
-    ReflectionTestUtils.setField(passwordResetService, "entityManager", entityManager);
+    PasswordResetToken resetToken =
+        new PasswordResetToken(user, token, Instant.now().plusSeconds(300));
+    ReflectionTestUtils.setField(resetToken, "id", 7L);
+    when(passwordResetTokenRepository.findByToken(token)).thenReturn(Optional.of(resetToken));
+    when(passwordResetTokenRepository.markUsed(7L)).thenReturn(1);
+    when(userRepository.updatePassword(1L, "$2stub$" + newRawPassword)).thenReturn(1);
 
     assertDoesNotThrow(
         () -> {
           passwordResetService.resetPassword(token, newRawPassword);
         });
 
-    verify(entityManager).merge(userCaptor.capture());
-
-    User savedUser = userCaptor.getValue();
-    assertNotEquals(oldPassword.getHashedPassword(), savedUser.getHashedPassword());
-    assertEquals("$2stub$" + newRawPassword, savedUser.getHashedPassword());
+    verify(userRepository).updatePassword(1L, "$2stub$" + newRawPassword);
+    verify(userRepository, never()).save(any());
   }
 
   @Test
@@ -231,6 +384,7 @@ public class PasswordResetServiceUnitTests {
     when(passwordEncoder.encode(oldRawPassword)).thenReturn("$2stub$" + oldRawPassword);
     Password oldPassword = passwordFactory.create(oldRawPassword);
     User user = new User(email, oldPassword);
+    ReflectionTestUtils.setField(user, "id", 1L);
     when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
     when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
 
@@ -238,14 +392,44 @@ public class PasswordResetServiceUnitTests {
 
     PasswordResetToken resetToken =
         new PasswordResetToken(user, token, Instant.now().plusSeconds(300));
+    ReflectionTestUtils.setField(resetToken, "id", 7L);
     when(passwordResetTokenRepository.findByToken(token)).thenReturn(Optional.of(resetToken));
-
-    EntityManager entityManager = mock(EntityManager.class);
-    when(entityManager.merge(any())).thenAnswer(invocation -> invocation.getArgument(0));
-    ReflectionTestUtils.setField(passwordResetService, "entityManager", entityManager);
+    when(passwordResetTokenRepository.markUsed(7L)).thenReturn(1);
+    when(userRepository.updatePassword(any(), any())).thenReturn(1);
 
     passwordResetService.resetPassword(token, newRawPassword);
 
-    assertTrue(resetToken.isUsed());
+    verify(passwordResetTokenRepository).markUsed(7L);
+  }
+
+  @Test
+  void tokenUsedConcurrently_shouldThrowWithoutChangingPassword() {
+    Email email = new Email(rawEmail);
+    when(passwordEncoder.encode(oldRawPassword)).thenReturn("$2stub$" + oldRawPassword);
+    User user = new User(email, passwordFactory.create(oldRawPassword));
+    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(passwordEncoder.encode(newRawPassword)).thenReturn("$2stub$" + newRawPassword);
+
+    String token = passwordResetService.reset(rawEmail);
+    PasswordResetToken resetToken =
+        new PasswordResetToken(user, token, Instant.now().plusSeconds(300));
+    when(passwordResetTokenRepository.findByToken(token)).thenReturn(Optional.of(resetToken));
+    when(passwordResetTokenRepository.markUsed(any())).thenReturn(0);
+
+    TokenExpiredException exception =
+        assertThrows(
+            TokenExpiredException.class,
+            () -> passwordResetService.resetPassword(token, newRawPassword));
+    assertEquals("Token is either expired or already used", exception.getMessage());
+    verify(userRepository, never()).updatePassword(any(), any());
+  }
+
+  @Test
+  void unregisteredUserRuledOutByFilter_shouldThrowWithoutQuery() {
+    registeredEmailFilter.markReady();
+    UserNotFoundException exception =
+        assertThrows(UserNotFoundException.class, () -> passwordResetService.reset(randomEmail));
+    assertEquals("No accounts with this email", exception.getMessage());
+    verifyNoInteractions(userRepository);
   }
 }
@@ -0,0 +1,57 @@
+package com.antunes.flashcards.domain.user.auth.reset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.reset.mode=stateless")
+@ActiveProfiles("test")
+public class StatelessPasswordResetIntegrationTests {
+  private final String rawEmail = "user@email.com";
+  private final String rawPassword = "securePassword123";
+  private final String newRawPassword = "newPassword123";
+
+  @Autowired private PasswordResetService passwordResetService;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @BeforeAll
+  void setUp() {
+    passwordResetTokenRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    userService.register(rawEmail, rawPassword);
+  }
+
+  @Test
+  void tokenShouldResetPasswordOnceWithoutStoringRows() {
+    String token = passwordResetService.reset(rawEmail);
+    assertEquals(0, passwordResetTokenRepository.count());
+
+    passwordResetService.resetPassword(token, newRawPassword);
+
+    String storedHash = userService.findByEmail(rawEmail).get().getHashedPassword();
+    assertTrue(passwordEncoder.matches(newRawPassword, storedHash));
+    assertEquals(1, userRepository.count());
+    TokenExpiredException exception =
+        assertThrows(
+            TokenExpiredException.class,
+            () -> passwordResetService.resetPassword(token, "anotherPassword123"));
+    assertEquals("Token is either expired or already used", exception.getMessage());
+  }
+}
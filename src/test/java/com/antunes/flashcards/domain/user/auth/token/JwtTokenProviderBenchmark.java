@@ -0,0 +1,66 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Verifications per second of an auth token, with a parser rebuilt on every call (the previous
+ * behaviour) against the pre-built parser behind {@link JwtTokenProvider#verify}, with and without
+ * the verified-token cache.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.antunes.flashcards.domain.user.auth.token.JwtTokenProviderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+  private SecretKey secretKey;
+  private JwtTokenProvider jwtTokenProvider;
+  private JwtTokenProvider cachingJwtTokenProvider;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    secretKey =
+        Keys.hmacShaKeyFor("my-super-secret-key-that-is-32bytes!".getBytes(StandardCharsets.UTF_8));
+    jwtTokenProvider = new JwtTokenProvider();
+    jwtTokenProvider.setTokenCache(null);
+    jwtTokenProvider.setSecretKey(secretKey);
+    cachingJwtTokenProvider = new JwtTokenProvider();
+    cachingJwtTokenProvider.setSecretKey(secretKey);
+    token = jwtTokenProvider.generateAuthToken("user@example.com", 1L);
+  }
+
+  @Benchmark
+  public Claims rebuildParserPerCall() {
+    return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+  }
+
+  @Benchmark
+  public TokenClaims verifyWithPrebuiltParser() {
+    return jwtTokenProvider.verify(token, TokenType.AUTH);
+  }
+
+  @Benchmark
+  public TokenClaims verifyCachedToken() {
+    return cachingJwtTokenProvider.verify(token, TokenType.AUTH);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(JwtTokenProviderBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
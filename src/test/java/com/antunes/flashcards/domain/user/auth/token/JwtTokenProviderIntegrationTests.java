@@ -113,4 +113,25 @@ public class JwtTokenProviderIntegrationTests {
                         TokenExpiredException.class,
                         ExpiredTokenError)));
   }
+
+  @Test
+  void authTokenShouldCarryJti() {
+    String token = jwtTokenProvider.generateAuthToken(rawEmail, 1L);
+    assertNotNull(jwtTokenProvider.verify(token, TokenType.AUTH).jti());
+  }
+
+  @Test
+  void revokedTokenShouldBeRejectedEvenWhenCached() {
+    String token = jwtTokenProvider.generateAuthToken(rawEmail, 1L);
+    jwtTokenProvider.verify(token, TokenType.AUTH);
+
+    jwtTokenProvider.revoke(token);
+
+    TokenValidationException e =
+        assertThrows(
+            TokenValidationException.class, () -> jwtTokenProvider.verify(token, TokenType.AUTH));
+    assertEquals("Token has been revoked", e.getMessage());
+    String other = jwtTokenProvider.generateAuthToken(rawEmail, 1L);
+    assertDoesNotThrow(() -> jwtTokenProvider.verify(other, TokenType.AUTH));
+  }
 }
@@ -18,11 +18,13 @@ import java.util.stream.Stream;
 import javax.crypto.SecretKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -31,8 +33,10 @@ public class JwtTokenProviderUnitTests {
   private static final String InvalidTokenError = "Invalid token";
   private static final String NullOrBlankTokenError = "Token cannot be null or blank";
 
+  private static final String SECRET = "my-super-secret-key-that-is-32bytes!";
+  private static final String NEXT_SECRET = "another-super-secret-key-of-32-bytes!";
   private static final SecretKey secretKey =
-      Keys.hmacShaKeyFor("my-super-secret-key-that-is-32bytes!".getBytes(StandardCharsets.UTF_8));
+      Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
   private JwtTokenProvider jwtTokenProvider;
 
@@ -42,6 +46,15 @@ public class JwtTokenProviderUnitTests {
     jwtTokenProvider.setSecretKey(secretKey);
   }
 
+  // A node started with these two properties, as after a step of a rolling restart.
+  private static JwtTokenProvider configuredWith(String secret, String previousSecrets) {
+    JwtTokenProvider provider = new JwtTokenProvider();
+    ReflectionTestUtils.setField(provider, "secret", secret);
+    ReflectionTestUtils.setField(provider, "previousSecrets", previousSecrets);
+    provider.init();
+    return provider;
+  }
+
   public static Stream<TokenValidationCase> tokenValidationCases() {
     String rawEmail = "user@example.com";
     User user = new User(new Email(rawEmail), mock(Password.class));
@@ -117,4 +130,340 @@ public class JwtTokenProviderUnitTests {
       }
     }
   }
+
+  @Nested
+  class Verify {
+    @Test
+    void resetTokenShouldReturnTypedClaims() {
+      IssuedToken issued = jwtTokenProvider.issueResetToken("user@example.com", 42L);
+      TokenClaims claims = jwtTokenProvider.verify(issued.value(), TokenType.RESET);
+      assertEquals(issued.claims(), claims);
+      assertEquals("user@example.com", claims.subject());
+      assertEquals(42L, claims.userId());
+      assertEquals(TokenType.RESET, claims.type());
+      assertNotNull(claims.jti());
+      assertTrue(claims.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void authTokenShouldReturnTypedClaims() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      TokenClaims claims = jwtTokenProvider.verify(token, TokenType.AUTH);
+      assertEquals("user@example.com", claims.subject());
+      assertEquals(7L, claims.userId());
+      assertEquals(TokenType.AUTH, claims.type());
+    }
+
+    @Test
+    void wrongTokenType_shouldThrow() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      TokenValidationException ex =
+          assertThrows(
+              TokenValidationException.class,
+              () -> jwtTokenProvider.verify(token, TokenType.RESET));
+      assertEquals("Unexpected token type", ex.getMessage());
+    }
+  }
+
+  @Nested
+  class TokenCache {
+    @Test
+    void repeatedVerification_shouldHitCache() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      TokenClaims first = jwtTokenProvider.verify(token, TokenType.AUTH);
+      TokenClaims second = jwtTokenProvider.verify(token, TokenType.AUTH);
+      assertSame(first, second);
+      assertEquals(1, jwtTokenProvider.getTokenCacheStats().missCount());
+      assertEquals(1, jwtTokenProvider.getTokenCacheStats().hitCount());
+    }
+
+    @Test
+    void cachedTokenWithWrongType_shouldThrow() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      jwtTokenProvider.verify(token, TokenType.AUTH);
+      TokenValidationException ex =
+          assertThrows(
+              TokenValidationException.class,
+              () -> jwtTokenProvider.verify(token, TokenType.RESET));
+      assertEquals("Unexpected token type", ex.getMessage());
+    }
+
+    @Test
+    void disabledCache_shouldNotRecordStats() {
+      jwtTokenProvider.setTokenCache(null);
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      jwtTokenProvider.verify(token, TokenType.AUTH);
+      jwtTokenProvider.verify(token, TokenType.AUTH);
+      assertEquals(0, jwtTokenProvider.getTokenCacheStats().requestCount());
+    }
+
+    @Test
+    void changingSecretKey_shouldInvalidateCache() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      jwtTokenProvider.verify(token, TokenType.AUTH);
+      jwtTokenProvider.setSecretKey(
+          Keys.hmacShaKeyFor(
+              "another-super-secret-key-of-32-bytes!".getBytes(StandardCharsets.UTF_8)));
+      assertThrows(
+          TokenValidationException.class, () -> jwtTokenProvider.verify(token, TokenType.AUTH));
+    }
+
+    @Test
+    void entriesShouldNotOutliveTokenExpiry() {
+      VerifiedTokenCache cache = new VerifiedTokenCache(10);
+      cache.put(
+          "expired",
+          new TokenClaims(
+              "user@example.com", 7L, TokenType.AUTH, null, Instant.now().minusSeconds(1)));
+      assertNull(cache.get("expired"));
+    }
+
+    @Test
+    void cacheShouldBeBoundedBySize() {
+      VerifiedTokenCache cache = new VerifiedTokenCache(2);
+      Instant expiresAt = Instant.now().plusSeconds(60);
+      for (int i = 0; i < 10; i++) {
+        cache.put("token-" + i, new TokenClaims(null, (long) i, TokenType.AUTH, null, expiresAt));
+      }
+      cache.cleanUp();
+      assertTrue(cache.size() <= 2);
+      assertTrue(cache.stats().evictionCount() >= 8);
+    }
+  }
+
+  @Nested
+  class KeyRotation {
+    private final SecretKey nextKey =
+        Keys.hmacShaKeyFor(NEXT_SECRET.getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void tokens_shouldCarryActiveKid() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      String kid =
+          Jwts.parser()
+              .verifyWith(secretKey)
+              .build()
+              .parseSignedClaims(token)
+              .getHeader()
+              .getKeyId();
+      assertEquals(JwtKeyRing.kidOf(secretKey), kid);
+    }
+
+    @Test
+    void rotation_shouldSignWithNewSecretAndKeepVerifyingPreviousOnes() {
+      String oldToken = configuredWith(SECRET, "").generateAuthToken("user@example.com", 7L);
+
+      JwtTokenProvider rotated = configuredWith(NEXT_SECRET, SECRET);
+      String newToken = rotated.generateAuthToken("user@example.com", 7L);
+
+      assertDoesNotThrow(() -> rotated.verify(oldToken, TokenType.AUTH));
+      assertDoesNotThrow(() -> rotated.verify(newToken, TokenType.AUTH));
+      assertDoesNotThrow(
+          () -> Jwts.parser().verifyWith(nextKey).build().parseSignedClaims(newToken));
+    }
+
+    @Test
+    void nodesMidRotation_shouldAcceptEachOthersTokens() {
+      JwtTokenProvider notYetRestarted = configuredWith(SECRET, NEXT_SECRET);
+      JwtTokenProvider restarted = configuredWith(NEXT_SECRET, SECRET);
+
+      String oldToken = notYetRestarted.generateAuthToken("user@example.com", 7L);
+      String newToken = restarted.generateAuthToken("user@example.com", 7L);
+
+      assertDoesNotThrow(() -> restarted.verify(oldToken, TokenType.AUTH));
+      assertDoesNotThrow(() -> notYetRestarted.verify(newToken, TokenType.AUTH));
+    }
+
+    @Test
+    void droppedPreviousSecret_shouldStopVerifyingItsTokens() {
+      String oldToken = configuredWith(SECRET, "").generateAuthToken("user@example.com", 7L);
+
+      TokenValidationException ex =
+          assertThrows(
+              TokenValidationException.class,
+              () -> configuredWith(NEXT_SECRET, "").verify(oldToken, TokenType.AUTH));
+      assertEquals(InvalidTokenError, ex.getMessage());
+    }
+
+    private String legacyToken() {
+      return Jwts.builder()
+          .subject("user@example.com")
+          .claim("type", TokenType.AUTH.name())
+          .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+          .signWith(secretKey)
+          .compact();
+    }
+
+    @Test
+    void tokenWithoutKid_shouldVerifyAgainstActiveKey() {
+      String legacyToken = legacyToken();
+      assertDoesNotThrow(() -> jwtTokenProvider.verify(legacyToken, TokenType.AUTH));
+    }
+
+    @Test
+    void tokenWithoutKid_shouldVerifyAgainstPreviousSecrets() {
+      String legacyToken = legacyToken();
+      JwtTokenProvider rotated = configuredWith(NEXT_SECRET, SECRET);
+
+      assertDoesNotThrow(() -> rotated.verify(legacyToken, TokenType.AUTH));
+      assertThrows(
+          TokenValidationException.class,
+          () -> configuredWith(NEXT_SECRET, "").verify(legacyToken, TokenType.AUTH));
+    }
+
+    @Test
+    void unknownKid_shouldBeInvalid() {
+      SecretKey foreignKey =
+          Keys.hmacShaKeyFor(
+              "a-third-secret-key-that-is-32-bytes!".getBytes(StandardCharsets.UTF_8));
+      String token =
+          Jwts.builder()
+              .header()
+              .keyId("unknown")
+              .and()
+              .subject("user@example.com")
+              .claim("type", TokenType.AUTH.name())
+              .signWith(foreignKey)
+              .compact();
+      assertThrows(
+          TokenValidationException.class, () -> jwtTokenProvider.verify(token, TokenType.AUTH));
+    }
+  }
+
+  @Nested
+  class BinaryCodec {
+    @BeforeEach
+    void useBinaryCodec() {
+      jwtTokenProvider.setTokenCache(null);
+      jwtTokenProvider.setAuthCodec("binary");
+    }
+
+    @Test
+    void authToken_shouldRoundTripFixedWidthFields() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+
+      TokenClaims claims = jwtTokenProvider.verify(token, TokenType.AUTH);
+
+      assertEquals(99, token.length());
+      assertFalse(token.contains("."));
+      assertNull(claims.subject());
+      assertEquals(7L, claims.userId());
+      assertEquals(TokenType.AUTH, claims.type());
+      assertNotNull(claims.jti());
+      assertTrue(claims.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void resetTokens_shouldStayJwts() {
+      String token = jwtTokenProvider.generateResetToken("user@example.com", 7L);
+
+      assertTrue(token.contains("."));
+      assertEquals("user@example.com", jwtTokenProvider.verify(token, TokenType.RESET).subject());
+    }
+
+    @Test
+    void bothFormats_shouldVerifyWhileSwitching() {
+      jwtTokenProvider.setAuthCodec("jwt");
+      String jwt = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      jwtTokenProvider.setAuthCodec("binary");
+      String binary = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+
+      assertEquals(7L, jwtTokenProvider.verify(jwt, TokenType.AUTH).userId());
+      assertEquals(7L, jwtTokenProvider.verify(binary, TokenType.AUTH).userId());
+    }
+
+    @Test
+    void tamperedToken_shouldBeInvalid() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      char flipped = token.charAt(20) == 'A' ? 'B' : 'A';
+      String tampered = token.substring(0, 20) + flipped + token.substring(21);
+
+      TokenValidationException ex =
+          assertThrows(
+              TokenValidationException.class,
+              () -> jwtTokenProvider.verify(tampered, TokenType.AUTH));
+      assertEquals(InvalidTokenError, ex.getMessage());
+    }
+
+    @Test
+    void truncatedToken_shouldBeInvalid() {
+      String token = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      assertThrows(
+          TokenValidationException.class,
+          () -> jwtTokenProvider.verify(token.substring(1), TokenType.AUTH));
+    }
+
+    @Test
+    void expiredToken_shouldThrow() {
+      Instant issuedAt = Instant.now().minus(2, ChronoUnit.HOURS);
+      String token =
+          new BinaryTokenCodec(jwtTokenProvider.getKeyRing())
+              .encode(
+                  new TokenClaims(
+                      null,
+                      7L,
+                      TokenType.AUTH,
+                      "0b2c3d4e-0000-4000-8000-000000000001",
+                      issuedAt.plus(1, ChronoUnit.HOURS)),
+                  issuedAt);
+
+      TokenExpiredException ex =
+          assertThrows(
+              TokenExpiredException.class, () -> jwtTokenProvider.verify(token, TokenType.AUTH));
+      assertEquals(ExpiredTokenError, ex.getMessage());
+    }
+
+    @Test
+    void wrongTokenType_shouldThrow() {
+      Instant issuedAt = Instant.now();
+      String token =
+          new BinaryTokenCodec(jwtTokenProvider.getKeyRing())
+              .encode(
+                  new TokenClaims(
+                      null,
+                      7L,
+                      TokenType.RESET,
+                      "0b2c3d4e-0000-4000-8000-000000000002",
+                      issuedAt.plus(1, ChronoUnit.HOURS)),
+                  issuedAt);
+
+      assertThrows(
+          TokenValidationException.class, () -> jwtTokenProvider.verify(token, TokenType.AUTH));
+    }
+
+    @Test
+    void authToken_shouldBeShorterThanJwt() {
+      Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+      TokenClaims claims =
+          new TokenClaims(
+              "user@example.com",
+              1L,
+              TokenType.AUTH,
+              "0b2c3d4e-0000-4000-8000-000000000003",
+              issuedAt.plus(1, ChronoUnit.HOURS));
+      JwtKeyRing keyRing = jwtTokenProvider.getKeyRing();
+
+      assertEquals(99, new BinaryTokenCodec(keyRing).encode(claims, issuedAt).length());
+      assertEquals(266, new JwtTokenCodec(keyRing).encode(claims, issuedAt).length());
+    }
+
+    @Test
+    void rotation_shouldApplyToBinaryTokens() {
+      String oldToken = jwtTokenProvider.generateAuthToken("user@example.com", 7L);
+      JwtTokenProvider rotated = configuredWith(NEXT_SECRET, SECRET);
+      rotated.setAuthCodec("binary");
+      String newToken = rotated.generateAuthToken("user@example.com", 7L);
+
+      assertDoesNotThrow(() -> rotated.verify(oldToken, TokenType.AUTH));
+      assertDoesNotThrow(() -> rotated.verify(newToken, TokenType.AUTH));
+      assertThrows(
+          TokenValidationException.class,
+          () -> configuredWith(NEXT_SECRET, "").verify(oldToken, TokenType.AUTH));
+    }
+
+    @Test
+    void unknownCodec_shouldBeRejected() {
+      assertThrows(IllegalArgumentException.class, () -> jwtTokenProvider.setAuthCodec("cbor"));
+    }
+  }
 }
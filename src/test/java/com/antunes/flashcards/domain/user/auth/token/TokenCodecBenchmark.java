@@ -0,0 +1,70 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Encodes and decodes per second of an auth token with the JWT codec against the fixed-width binary
+ * codec, both signing with HMAC-SHA256. Token sizes are asserted in {@code
+ * JwtTokenProviderUnitTests}.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.antunes.flashcards.domain.user.auth.token.TokenCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenCodecBenchmark {
+  @Param({"jwt", "binary"})
+  private String codecName;
+
+  private TokenCodec codec;
+  private TokenClaims claims;
+  private Instant issuedAt;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    JwtKeyRing keyRing =
+        new JwtKeyRing(
+            Keys.hmacShaKeyFor(
+                "my-super-secret-key-that-is-32bytes!".getBytes(StandardCharsets.UTF_8)));
+    codec = codecName.equals("binary") ? new BinaryTokenCodec(keyRing) : new JwtTokenCodec(keyRing);
+    issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    claims =
+        new TokenClaims(
+            "user@example.com",
+            1L,
+            TokenType.AUTH,
+            UUID.randomUUID().toString(),
+            issuedAt.plus(Duration.ofHours(1)));
+    token = codec.encode(claims, issuedAt);
+  }
+
+  @Benchmark
+  public String encode() {
+    return codec.encode(claims, issuedAt);
+  }
+
+  @Benchmark
+  public TokenClaims decode() {
+    return codec.decode(token);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TokenCodecBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
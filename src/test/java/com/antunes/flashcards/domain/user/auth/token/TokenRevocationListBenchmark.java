@@ -0,0 +1,71 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import static org.mockito.Mockito.mock;
+
+import com.antunes.flashcards.domain.user.auth.repository.RevokedTokenRepository;
+import com.antunes.flashcards.infrastructure.scheduling.SchedulerLeaseService;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of {@link TokenRevocationList#isRevoked} with 100k revoked tokens, for a token that was
+ * never revoked (answered by the Bloom filter) and for one that was (filter plus set lookup).
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.antunes.flashcards.domain.user.auth.token.TokenRevocationListBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationListBenchmark {
+  private TokenRevocationList revocationList;
+  private String activeJti;
+  private String revokedJti;
+
+  @Setup
+  public void setUp() {
+    revocationList =
+        new TokenRevocationList(
+            mock(RevokedTokenRepository.class),
+            new ClockService(Clock.systemUTC()),
+            mock(SchedulerLeaseService.class),
+            100_000,
+            0.001,
+            50_000,
+            50_000);
+    Instant expiresAt = Instant.now().plusSeconds(3600);
+    for (int i = 0; i < 100_000; i++) {
+      revokedJti = UUID.randomUUID().toString();
+      revocationList.revoke(revokedJti, expiresAt);
+    }
+    activeJti = UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public boolean activeToken() {
+    return revocationList.isRevoked(activeJti);
+  }
+
+  @Benchmark
+  public boolean revokedToken() {
+    return revocationList.isRevoked(revokedJti);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(TokenRevocationListBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,167 @@
+package com.antunes.flashcards.domain.user.auth.token;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.user.auth.model.RevokedToken;
+import com.antunes.flashcards.domain.user.auth.repository.RevokedTokenRepository;
+import com.antunes.flashcards.infrastructure.scheduling.SchedulerLeaseRepository;
+import com.antunes.flashcards.infrastructure.scheduling.SchedulerLeaseService;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@ActiveProfiles("test")
+public class TokenRevocationListTests {
+  @Autowired private RevokedTokenRepository revokedTokenRepository;
+  @Autowired private SchedulerLeaseRepository schedulerLeaseRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private ClockService clockService;
+  private Instant now;
+
+  @BeforeEach
+  void setUp() {
+    revokedTokenRepository.deleteAll();
+    schedulerLeaseRepository.deleteAll();
+    now = Instant.now();
+    clockService = new ClockService(Clock.fixed(now, ZoneId.systemDefault()));
+  }
+
+  private TokenRevocationList newList() {
+    return newList("node-a");
+  }
+
+  private TokenRevocationList newList(String node) {
+    return newList(node, clockService);
+  }
+
+  private TokenRevocationList newList(String node, ClockService clockService) {
+    SchedulerLeaseService schedulerLeaseService =
+        new SchedulerLeaseService(
+            schedulerLeaseRepository, Clock.fixed(now, ZoneId.systemDefault()), node);
+    return new TokenRevocationList(
+        revokedTokenRepository, clockService, schedulerLeaseService, 1000, 0.001, 50000, 50000);
+  }
+
+  private String jti() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Test
+  void revokedJtiShouldBeReportedAndPersisted() {
+    TokenRevocationList list = newList();
+    String jti = jti();
+
+    list.revoke(jti, now.plus(Duration.ofHours(1)));
+
+    assertTrue(list.isRevoked(jti));
+    assertFalse(list.isRevoked(jti()));
+    assertFalse(list.isRevoked(null));
+    assertTrue(revokedTokenRepository.existsById(jti));
+  }
+
+  @Test
+  void loadShouldRestoreUnexpiredRevocations() {
+    String live = jti();
+    String expired = jti();
+    revokedTokenRepository.save(new RevokedToken(live, now.plusSeconds(60)));
+    revokedTokenRepository.save(new RevokedToken(expired, now.minusSeconds(60)));
+
+    TokenRevocationList list = newList();
+    list.load();
+
+    assertTrue(list.isRevoked(live));
+    assertFalse(list.isRevoked(expired));
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  void refreshShouldPickUpRevocationsFromOtherNodes() {
+    TokenRevocationList list = newList();
+    list.load();
+    String jti = jti();
+    newList().revoke(jti, now.plusSeconds(60));
+    assertFalse(list.isRevoked(jti));
+
+    list.refresh();
+
+    assertTrue(list.isRevoked(jti));
+  }
+
+  @Test
+  void refreshShouldPickUpRevocationsFromNodeWithSlowClock() {
+    TokenRevocationList list = newList();
+    list.load();
+    list.refresh();
+    ClockService slowClock =
+        new ClockService(Clock.fixed(now.minus(Duration.ofMinutes(10)), ZoneId.systemDefault()));
+    String jti = jti();
+    newList("node-b", slowClock).revoke(jti, now.plusSeconds(60));
+
+    list.refresh();
+
+    assertTrue(list.isRevoked(jti));
+  }
+
+  @Test
+  void reloadShouldPickUpRevocationsMissedByRefresh() {
+    TokenRevocationList list = newList();
+    list.load();
+    String jti = jti();
+    revokedTokenRepository.save(new RevokedToken(jti, now.plusSeconds(60)));
+    jdbcTemplate.update(
+        "UPDATE revoked_token SET revoked_at = revoked_at - INTERVAL '1' HOUR WHERE jti = ?", jti);
+    list.refresh();
+    assertFalse(list.isRevoked(jti));
+
+    assertEquals(1, list.reload());
+
+    assertTrue(list.isRevoked(jti));
+  }
+
+  @Test
+  void pruneShouldDropExpiredRevocations() {
+    TokenRevocationList list = newList();
+    String shortLived = jti();
+    String longLived = jti();
+    list.revoke(shortLived, now.plusSeconds(60));
+    list.revoke(longLived, now.plusSeconds(3600));
+
+    clockService.setClock(Clock.fixed(now.plusSeconds(61), ZoneId.systemDefault()));
+    assertEquals(1, list.prune());
+
+    assertFalse(list.isRevoked(shortLived));
+    assertTrue(list.isRevoked(longLived));
+    assertFalse(revokedTokenRepository.existsById(shortLived));
+  }
+
+  @Test
+  void pruneShouldLeaveDatabaseCleanupToOneNode() {
+    TokenRevocationList nodeA = newList("node-a");
+    TokenRevocationList nodeB = newList("node-b");
+    String jti = jti();
+    nodeA.revoke(jti, now.plusSeconds(60));
+    nodeB.refresh();
+    clockService.setClock(Clock.fixed(now.plusSeconds(61), ZoneId.systemDefault()));
+
+    assertEquals(1, nodeA.prune());
+    assertFalse(revokedTokenRepository.existsById(jti));
+
+    String expired = jti();
+    revokedTokenRepository.save(new RevokedToken(expired, now.plusSeconds(30)));
+    assertEquals(1, nodeB.prune());
+
+    assertFalse(nodeB.isRevoked(jti));
+    assertTrue(revokedTokenRepository.existsById(expired));
+  }
+}
@@ -6,13 +6,24 @@ import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
 import com.antunes.flashcards.domain.user.exception.EmailValidationException;
 import com.antunes.flashcards.domain.user.exception.ExistingEmailException;
 import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
+import com.antunes.flashcards.domain.user.model.Email;
+import com.antunes.flashcards.domain.user.model.Password;
+import com.antunes.flashcards.domain.user.model.StubPasswordEncoder;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -20,6 +31,8 @@ public class UserServiceIntegrationTests {
   @Autowired private UserRepository userRepository;
   @Autowired private UserService userService;
   @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private RegisteredEmailFilter registeredEmailFilter;
+  @Autowired private PlatformTransactionManager transactionManager;
 
   @BeforeEach
   public void setUp() {
@@ -83,4 +96,97 @@ public class UserServiceIntegrationTests {
             PasswordValidationException.class, () -> userService.register(rawEmail, shortPassword));
     assertEquals("Password must be at least 8 characters long", exception.getMessage());
   }
+
+  @Test
+  void emailFilter_shouldBeLoadedAtStartupAndTrackPersistedUsers() {
+    assertTrue(registeredEmailFilter.isReady());
+    Email email = new Email("direct@example.com");
+    assertFalse(userService.emailExists(email));
+
+    userRepository.save(
+        new User(email, new Password("securePassword123", new StubPasswordEncoder())));
+
+    assertTrue(registeredEmailFilter.mightContain(email));
+    assertTrue(userService.emailExists(email));
+  }
+
+  @Test
+  void emailFilter_shouldPickUpUsersRegisteredOnOtherNodes() {
+    RegisteredEmailFilter otherNode = otherNode();
+    Email email = new Email(rawEmail);
+
+    userService.register(rawEmail, rawPassword);
+
+    assertTrue(otherNode.mightContain(email));
+  }
+
+  @Test
+  void emailFilter_shouldPickUpRegistrationThatCommitsAfterLaterOne() throws Exception {
+    RegisteredEmailFilter otherNode = otherNode();
+    Email lateEmail = new Email("late@example.com");
+    CountDownLatch inserted = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> late =
+          executor.submit(
+              () ->
+                  new TransactionTemplate(transactionManager)
+                      .executeWithoutResult(
+                          status -> {
+                            userRepository.saveAndFlush(
+                                new User(
+                                    lateEmail,
+                                    new Password(rawPassword, new StubPasswordEncoder())));
+                            inserted.countDown();
+                            try {
+                              commit.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                              Thread.currentThread().interrupt();
+                            }
+                          }));
+      assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+      userService.register(rawEmail, rawPassword);
+      otherNode.refresh();
+      assertTrue(otherNode.mightContain(new Email(rawEmail)));
+
+      commit.countDown();
+      late.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    otherNode.refresh();
+    assertTrue(otherNode.mightContain(lateEmail));
+  }
+
+  @Test
+  void emailFilter_rebuildShouldForgetDeletedUsers() {
+    RegisteredEmailFilter otherNode = otherNode();
+    User user = userService.register(rawEmail, rawPassword);
+    otherNode.refresh();
+
+    userRepository.deleteById(user.getId());
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> otherNode.rebuild());
+
+    assertFalse(otherNode.mightContain(new Email(rawEmail)));
+  }
+
+  private RegisteredEmailFilter otherNode() {
+    RegisteredEmailFilter otherNode =
+        new RegisteredEmailFilter(userRepository, true, 1000, 0.01, 60000);
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> otherNode.load());
+    return otherNode;
+  }
+
+  @Test
+  void duplicateEmailInsert_shouldBeRejectedByDatabase() {
+    userService.register(rawEmail, rawPassword);
+    User duplicate =
+        new User(new Email(rawEmail), new Password(rawPassword, new StubPasswordEncoder()));
+    DataIntegrityViolationException exception =
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(duplicate));
+    assertTrue(UserService.isDuplicateEmail(exception));
+  }
 }
@@ -12,12 +12,14 @@ import com.antunes.flashcards.domain.user.model.Email;
 import com.antunes.flashcards.domain.user.model.Password;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
-import java.util.Optional;
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceUnitTests {
@@ -26,11 +28,14 @@ public class UserServiceUnitTests {
   @Mock private PasswordFactory passwordFactory;
   private final PasswordValidator passwordValidator = new PasswordValidator();
 
+  private final RegisteredEmailFilter registeredEmailFilter = new RegisteredEmailFilter(1000, 0.01);
+
   private UserService userService;
 
   @BeforeEach
   void setUp() {
-    userService = new UserService(userRepository, passwordFactory, passwordValidator);
+    userService =
+        new UserService(userRepository, passwordFactory, passwordValidator, registeredEmailFilter);
   }
 
   private final String rawEmail = "user@example.com";
@@ -57,9 +62,8 @@ public class UserServiceUnitTests {
   @Test
   void shouldNotRegisterUserWithExistingEmail() {
     Email email = new Email(rawEmail);
-    User existingUser = new User(email, mock(Password.class));
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(existingUser));
+    when(userRepository.existsByEmail(email)).thenReturn(true);
 
     ExistingEmailException exception =
         assertThrows(
@@ -92,4 +96,52 @@ public class UserServiceUnitTests {
             PasswordValidationException.class, () -> userService.register(rawEmail, shortPassword));
     assertEquals("Password must be at least 8 characters long", exception.getMessage());
   }
+
+  @Test
+  void emailExists_shouldSkipRepositoryWhenFilterRulesEmailOut() {
+    registeredEmailFilter.markReady();
+    assertFalse(userService.emailExists(new Email(rawEmail)));
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void emailExists_shouldQueryRepositoryWhenFilterMightContainEmail() {
+    Email email = new Email(rawEmail);
+    registeredEmailFilter.add(email);
+    registeredEmailFilter.markReady();
+    when(userRepository.existsByEmail(email)).thenReturn(true);
+    assertTrue(userService.emailExists(email));
+    verify(userRepository, never()).findByEmail(any());
+  }
+
+  @Test
+  void concurrentRegistrationWithSameEmail_shouldThrowExistingEmail() {
+    when(passwordFactory.create(rawPassword)).thenReturn(mock(Password.class));
+    when(userRepository.save(any(User.class)))
+        .thenThrow(violation("PUBLIC.UK_USERS_EMAIL_INDEX_4"));
+
+    ExistingEmailException exception =
+        assertThrows(
+            ExistingEmailException.class, () -> userService.register(rawEmail, rawPassword));
+    assertEquals("Email already exists", exception.getMessage());
+  }
+
+  @Test
+  void otherIntegrityViolation_shouldBeRethrown() {
+    when(passwordFactory.create(rawPassword)).thenReturn(mock(Password.class));
+    DataIntegrityViolationException violation = violation("users_hashed_password_not_null");
+    when(userRepository.save(any(User.class))).thenThrow(violation);
+
+    assertSame(
+        violation,
+        assertThrows(
+            DataIntegrityViolationException.class,
+            () -> userService.register(rawEmail, rawPassword)));
+  }
+
+  private static DataIntegrityViolationException violation(String constraint) {
+    return new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException("violation", new SQLException(), constraint));
+  }
 }
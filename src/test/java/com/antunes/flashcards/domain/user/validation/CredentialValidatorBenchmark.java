@@ -0,0 +1,96 @@
+package com.antunes.flashcards.domain.user.validation;
+
+import com.antunes.flashcards.domain.user.exception.EmailValidationException;
+import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Nanoseconds per check for valid and invalid credentials, comparing the previous regex and
+ * char-stream checks with {@link CredentialValidator}.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.antunes.flashcards.domain.user.validation.CredentialValidatorBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialValidatorBenchmark {
+  @State(Scope.Benchmark)
+  public static class EmailInput {
+    @Param({"user@example.com", "First.Last+tag@Example.org", "not-an-email"})
+    public String email;
+  }
+
+  @State(Scope.Benchmark)
+  public static class PasswordInput {
+    @Param({"securePassword123", "alllowercase1"})
+    public String password;
+  }
+
+  @Benchmark
+  public String regexEmail(EmailInput input) {
+    String email = input.email;
+    try {
+      if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+        throw new EmailValidationException("Not a valid email");
+      }
+      return email.toLowerCase();
+    } catch (EmailValidationException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public String singlePassEmail(EmailInput input) {
+    String email = input.email;
+    try {
+      return CredentialValidator.normalizeEmail(email);
+    } catch (EmailValidationException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public boolean streamPassword(PasswordInput input) {
+    String password = input.password;
+    try {
+      if (password.isBlank()) throw new PasswordValidationException("Password cannot be blank");
+      if (password.length() < 8)
+        throw new PasswordValidationException("Password must be at least 8 characters long");
+      if (password.chars().noneMatch(Character::isUpperCase))
+        throw new PasswordValidationException("Password must contain an uppercase letter");
+      if (password.chars().noneMatch(Character::isLowerCase))
+        throw new PasswordValidationException("Password must contain a lowercase letter");
+      if (password.chars().noneMatch(Character::isDigit))
+        throw new PasswordValidationException("Password must contain a number");
+      return true;
+    } catch (PasswordValidationException e) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean singlePassPassword(PasswordInput input) {
+    String password = input.password;
+    try {
+      CredentialValidator.assertValidPassword(password);
+      return true;
+    } catch (PasswordValidationException e) {
+      return false;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(CredentialValidatorBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,127 @@
+package com.antunes.flashcards.domain.user.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.user.exception.EmailValidationException;
+import com.antunes.flashcards.domain.user.exception.PasswordValidationException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class CredentialValidatorTests {
+  private static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "user@example.com",
+        "a@b",
+        "first.last+tag@sub-domain.example.org",
+        "under_score@x.y",
+        "-@-",
+        "user@.."
+      })
+  void validEmails_shouldBeAccepted(String email) {
+    assertEquals(email, CredentialValidator.normalizeEmail(email));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "@",
+        "user",
+        "@example.com",
+        "user@",
+        "user@@example.com",
+        "user@exa@mple.com",
+        "user@exam_ple.com",
+        "user@exam+ple.com",
+        "us er@example.com",
+        "usér@example.com",
+        "user@example.com "
+      })
+  void invalidEmails_shouldThrow(String email) {
+    EmailValidationException exception =
+        assertThrows(
+            EmailValidationException.class, () -> CredentialValidator.normalizeEmail(email));
+    assertEquals("Not a valid email", exception.getMessage());
+  }
+
+  @Test
+  void nullEmail_shouldThrow() {
+    EmailValidationException exception =
+        assertThrows(
+            EmailValidationException.class, () -> CredentialValidator.normalizeEmail(null));
+    assertEquals("Email cannot be null", exception.getMessage());
+  }
+
+  @Test
+  void upperCaseEmail_shouldBeLowerCased() {
+    assertEquals("user@example.com", CredentialValidator.normalizeEmail("User@EXAMPLE.com"));
+  }
+
+  @Test
+  void lowerCaseEmail_shouldReturnSameInstance() {
+    String email = "user@example.com";
+    assertSame(email, CredentialValidator.normalizeEmail(email));
+  }
+
+  @Test
+  void randomEmails_shouldMatchRegexVerdict() {
+    String alphabet = "aZ09+_.-@ é!";
+    Random random = new Random(42);
+    for (int i = 0; i < 20_000; i++) {
+      StringBuilder candidate = new StringBuilder();
+      int length = random.nextInt(8);
+      for (int j = 0; j < length; j++) {
+        candidate.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String email = candidate.toString();
+      boolean accepted;
+      try {
+        CredentialValidator.normalizeEmail(email);
+        accepted = true;
+      } catch (EmailValidationException e) {
+        accepted = false;
+      }
+      assertEquals(email.matches(EMAIL_PATTERN), accepted, "verdict differs for '" + email + "'");
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "'        '|Password cannot be blank",
+        "''|Password cannot be blank",
+        "Ab1|Password must be at least 8 characters long",
+        "alllowercase1|Password must contain an uppercase letter",
+        "ALLUPPERCASE1|Password must contain a lowercase letter",
+        "NoDigitsHere|Password must contain a number",
+        "'   Ab1'|Password must be at least 8 characters long"
+      })
+  void invalidPasswords_shouldThrowInOriginalOrder(String password, String message) {
+    PasswordValidationException exception =
+        assertThrows(
+            PasswordValidationException.class,
+            () -> CredentialValidator.assertValidPassword(password));
+    assertEquals(message, exception.getMessage());
+  }
+
+  @Test
+  void nullPassword_shouldThrow() {
+    PasswordValidationException exception =
+        assertThrows(
+            PasswordValidationException.class, () -> CredentialValidator.assertValidPassword(null));
+    assertEquals("Password cannot be null", exception.getMessage());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"securePassword123", "Ünïcode9pass", "Aa1     "})
+  void validPasswords_shouldNotThrow(String password) {
+    assertDoesNotThrow(() -> CredentialValidator.assertValidPassword(password));
+  }
+}
@@ -0,0 +1,82 @@
+package com.antunes.flashcards.infrastructure.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTests {
+
+  @Test
+  void insertedValues_shouldAlwaysBeReported() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+  }
+
+  @Test
+  void measuredFalsePositiveRate_shouldStayNearTarget() {
+    BloomFilter filter = new BloomFilter(100_000, 0.01);
+    for (int i = 0; i < 100_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+    int falsePositives = 0;
+    int probes = 200_000;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContain("absent" + i + "@example.org")) {
+        falsePositives++;
+      }
+    }
+    double measured = (double) falsePositives / probes;
+    assertTrue(measured < 0.015, "measured false positive rate was " + measured);
+    assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.003);
+  }
+
+  @Test
+  void sizing_shouldMatchTheoreticalOptimum() {
+    BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+    // m = -n ln p / (ln 2)^2 = 9,585,059 bits, rounded up to whole longs; k = 7
+    assertEquals(9_585_088, filter.bitSize());
+    assertEquals(7, filter.hashCount());
+    assertEquals(1_198_136, filter.memoryBytes());
+  }
+
+  @Test
+  void emptyFilter_shouldContainNothing() {
+    BloomFilter filter = new BloomFilter(1_000, 0.01);
+    assertFalse(filter.mightContain("user@example.com"));
+    assertEquals(0, filter.expectedFalsePositiveRate());
+  }
+
+  @Test
+  void concurrentPuts_shouldNotLoseBits() throws Exception {
+    BloomFilter filter = new BloomFilter(50_000, 0.01);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int offset = t;
+      executor.execute(
+          () -> {
+            for (int i = offset; i < 50_000; i += 4) {
+              filter.put("user" + i + "@example.com");
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 50_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+  }
+
+  @Test
+  void invalidParameters_shouldThrow() {
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+  }
+}
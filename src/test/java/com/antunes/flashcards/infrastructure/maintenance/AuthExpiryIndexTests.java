@@ -0,0 +1,118 @@
+package com.antunes.flashcards.infrastructure.maintenance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.domain.flashcard.repository.FlashcardRepository;
+import com.antunes.flashcards.domain.user.auth.login.LoginAttemptService;
+import com.antunes.flashcards.domain.user.auth.model.LoginAttempt;
+import com.antunes.flashcards.domain.user.auth.repository.LoginAttemptRepository;
+import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
+import com.antunes.flashcards.domain.user.auth.reset.PasswordResetService;
+import com.antunes.flashcards.domain.user.exception.TokenExpiredException;
+import com.antunes.flashcards.domain.user.model.User;
+import com.antunes.flashcards.domain.user.repository.UserRepository;
+import com.antunes.flashcards.domain.user.service.UserService;
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@ActiveProfiles("test")
+public class AuthExpiryIndexTests {
+  private final String rawEmail = "user@example.com";
+  private final String rawPassword = "securePassword123";
+
+  @Autowired private PasswordResetService passwordResetService;
+  @Autowired private LoginAttemptService loginAttemptService;
+  @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+  @Autowired private LoginAttemptRepository loginAttemptRepository;
+  @Autowired private FlashcardRepository flashcardRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+  @Autowired private ClockService clockService;
+
+  private Clock originalClock;
+  private User user;
+
+  @BeforeAll
+  void setUp() {
+    originalClock = clockService.getClock();
+    passwordResetTokenRepository.deleteAll();
+    loginAttemptRepository.deleteAll();
+    flashcardRepository.deleteAll();
+    userRepository.deleteAll();
+    user = userService.register(rawEmail, rawPassword);
+  }
+
+  @BeforeEach
+  void fixClock() {
+    clockService.setClock(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+  }
+
+  @AfterEach
+  void restoreClock() {
+    clockService.setClock(originalClock);
+  }
+
+  // A fresh index per test, since the shared bean's wheels have already moved past rewound clocks.
+  private AuthExpiryIndex loadedIndex() {
+    AuthExpiryIndex index =
+        new AuthExpiryIndex(
+            passwordResetTokenRepository, loginAttemptRepository, clockService, 1000, 64, 500);
+    index.load();
+    return index;
+  }
+
+  private void advance(Duration duration) {
+    Clock clock = clockService.getClock();
+    clockService.setClock(Clock.fixed(clock.instant().plus(duration), clock.getZone()));
+  }
+
+  @Test
+  void expiredResetTokenShouldBeMarkedUsedOnTick() {
+    String token = passwordResetService.reset(rawEmail);
+    assertEquals(1, passwordResetTokenRepository.count());
+    AuthExpiryIndex authExpiryIndex = loadedIndex();
+    assertEquals(1, authExpiryIndex.getTrackedResetTokens());
+
+    advance(Duration.ofMinutes(14));
+    authExpiryIndex.expireDue();
+    assertEquals(1, passwordResetTokenRepository.count());
+
+    advance(Duration.ofMinutes(2));
+    authExpiryIndex.expireDue();
+    assertEquals(1, passwordResetTokenRepository.count());
+    assertTrue(passwordResetTokenRepository.findByToken(token).orElseThrow().isUsed());
+    assertEquals(0, authExpiryIndex.getTrackedResetTokens());
+
+    TokenExpiredException exception =
+        assertThrows(
+            TokenExpiredException.class,
+            () -> passwordResetService.resetPassword(token, "newSecurePassword456"));
+    assertEquals("Token is either expired or already used", exception.getMessage());
+  }
+
+  @Test
+  void expiredLockoutShouldBeClearedOnTick() {
+    for (int i = 0; i < LoginAttempt.MAX_ATTEMPTS; i++) {
+      loginAttemptService.registerFailedAttempt(user);
+    }
+    assertTrue(loginAttemptService.isLocked(user));
+    AuthExpiryIndex authExpiryIndex = loadedIndex();
+    assertEquals(1, authExpiryIndex.getTrackedLockouts());
+
+    advance(Duration.ofMinutes(LoginAttempt.LOCK_MINUTES).plusSeconds(1));
+    authExpiryIndex.expireDue();
+
+    LoginAttempt loginAttempt = loginAttemptService.getOrCreate(user);
+    assertFalse(loginAttempt.isLocked());
+    assertEquals(0, loginAttempt.getAttemptCount());
+  }
+}
@@ -7,6 +7,7 @@ import com.antunes.flashcards.domain.user.auth.model.PasswordResetToken;
 import com.antunes.flashcards.domain.user.auth.repository.PasswordResetTokenRepository;
 import com.antunes.flashcards.domain.user.auth.reset.PasswordResetService;
 import com.antunes.flashcards.domain.user.auth.token.JwtTokenProvider;
+import com.antunes.flashcards.domain.user.auth.token.TokenDigest;
 import com.antunes.flashcards.domain.user.auth.token.TokenType;
 import com.antunes.flashcards.domain.user.model.User;
 import com.antunes.flashcards.domain.user.repository.UserRepository;
@@ -88,11 +89,11 @@ public class PasswordResetTokenCleanupServiceTests {
 
   @Test
   void cleanupShouldNotDeleteValidTokens() {
-    passwordResetService.reset(rawEmail);
+    String validToken = passwordResetService.reset(rawEmail);
     passwordResetTokenCleanupService.cleanupExpiredOrUsedTokens();
     List<PasswordResetToken> remaining = passwordResetTokenRepository.findAll();
     assertEquals(1, remaining.size());
-    assertEquals(jwtTokenProvider.parseToken(remaining.get(0).getToken()).getSubject(), rawEmail);
+    assertEquals(TokenDigest.sha256(validToken), remaining.get(0).getTokenHash());
   }
 
   @Test
@@ -104,12 +105,12 @@ public class PasswordResetTokenCleanupServiceTests {
     passwordResetService.resetPassword(passwordResetService.reset(rawEmail), newRawPassword);
     passwordResetTokenRepository.save(resetToken);
 
-    passwordResetService.reset(rawEmail);
+    String validToken = passwordResetService.reset(rawEmail);
 
     passwordResetTokenCleanupService.cleanupExpiredOrUsedTokens();
     List<PasswordResetToken> remaining = passwordResetTokenRepository.findAll();
     assertEquals(1, remaining.size());
-    assertEquals(jwtTokenProvider.parseToken(remaining.get(0).getToken()).getSubject(), rawEmail);
+    assertEquals(TokenDigest.sha256(validToken), remaining.get(0).getTokenHash());
   }
 
   @Test
@@ -132,4 +133,49 @@ public class PasswordResetTokenCleanupServiceTests {
     List<PasswordResetToken> remaining = passwordResetTokenRepository.findAll();
     assertEquals(0, remaining.size());
   }
+
+  private void saveExpiredTokens(int count) {
+    Instant expiredAt = Instant.now().minus(Duration.ofMinutes(5));
+    for (int i = 0; i < count; i++) {
+      passwordResetTokenRepository.save(
+          new PasswordResetToken(user, generateExpiredResetToken(rawEmail + i), expiredAt));
+    }
+  }
+
+  @Test
+  void cleanupShouldDeleteInBoundedBatches() {
+    saveExpiredTokens(5);
+    passwordResetService.resetPassword(passwordResetService.reset(rawEmail), newRawPassword);
+    PasswordResetTokenCleanupService batchedCleanupService =
+        new PasswordResetTokenCleanupService(passwordResetTokenRepository, 2, 0, 30_000);
+
+    TokenCleanupResult result = batchedCleanupService.cleanupExpiredOrUsedTokens();
+
+    assertEquals(5, result.expiredDeleted());
+    assertEquals(1, result.usedDeleted());
+    assertEquals(4, result.batches());
+    assertFalse(result.budgetExhausted());
+    assertEquals(0, passwordResetTokenRepository.count());
+  }
+
+  @Test
+  void cleanupShouldStopWhenTimeBudgetIsSpent() {
+    saveExpiredTokens(3);
+    PasswordResetTokenCleanupService budgetedCleanupService =
+        new PasswordResetTokenCleanupService(passwordResetTokenRepository, 2, 0, 0);
+
+    TokenCleanupResult result = budgetedCleanupService.cleanupExpiredOrUsedTokens();
+
+    assertTrue(result.budgetExhausted());
+    assertEquals(0, result.totalDeleted());
+    assertEquals(3, passwordResetTokenRepository.count());
+  }
+
+  @Test
+  void cleanupShouldReportLastResult() {
+    saveExpiredTokens(1);
+    TokenCleanupResult result = passwordResetTokenCleanupService.cleanupExpiredOrUsedTokens();
+    assertEquals(1, result.totalDeleted());
+    assertSame(result, passwordResetTokenCleanupService.getLastResult());
+  }
 }
@@ -0,0 +1,106 @@
+package com.antunes.flashcards.infrastructure.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.antunes.flashcards.infrastructure.time.ClockService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketLimiterTests {
+  private ClockService clockService;
+  private TokenBucketLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    clockService = new ClockService(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+    limiter = new TokenBucketLimiter(clockService, 3, Duration.ofSeconds(10), 1000);
+  }
+
+  private void advance(Duration duration) {
+    Clock clock = clockService.getClock();
+    clockService.setClock(Clock.fixed(clock.instant().plus(duration), clock.getZone()));
+  }
+
+  @Test
+  void shouldAllowBurstUpToCapacity() {
+    assertTrue(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("a"));
+    assertEquals(3, limiter.getAllowedCount());
+    assertEquals(1, limiter.getThrottledCount());
+  }
+
+  @Test
+  void shouldRefillOneTokenPerPeriod() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("a");
+    }
+    advance(Duration.ofSeconds(9));
+    assertFalse(limiter.tryAcquire("a"));
+    advance(Duration.ofSeconds(1));
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("a"));
+  }
+
+  @Test
+  void idleBucketShouldNotExceedCapacity() {
+    advance(Duration.ofHours(1));
+    for (int i = 0; i < 3; i++) {
+      assertTrue(limiter.tryAcquire("a"));
+    }
+    assertFalse(limiter.tryAcquire("a"));
+  }
+
+  @Test
+  void keysShouldHaveIndependentBuckets() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("a");
+    }
+    assertFalse(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("b"));
+  }
+
+  @Test
+  void concurrentCallersShouldNotOvershootCapacity() throws Exception {
+    TokenBucketLimiter wide = new TokenBucketLimiter(clockService, 100, Duration.ofMinutes(1), 10);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+    try {
+      for (int t = 0; t < 8; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  int allowed = 0;
+                  for (int i = 0; i < 100; i++) {
+                    if (wide.tryAcquire("shared")) {
+                      allowed++;
+                    }
+                  }
+                  return allowed;
+                }));
+      }
+      start.countDown();
+      int allowed = 0;
+      for (Future<Integer> result : results) {
+        allowed += result.get();
+      }
+      assertEquals(100, allowed);
+      assertEquals(700, wide.getThrottledCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
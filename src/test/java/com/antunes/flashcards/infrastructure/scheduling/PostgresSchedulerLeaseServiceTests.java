@@ -0,0 +1,15 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import com.antunes.flashcards.TestcontainersConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the lease tests against PostgreSQL, whose row locking decides the races that H2 only
+ * approximates. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect")
+public class PostgresSchedulerLeaseServiceTests extends SchedulerLeaseServiceTests {}
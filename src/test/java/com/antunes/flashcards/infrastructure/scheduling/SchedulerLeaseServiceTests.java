@@ -0,0 +1,120 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchedulerLeaseServiceTests {
+  private static final String LEASE = "test-job";
+  private static final Duration AT_MOST = Duration.ofMinutes(5);
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Autowired private SchedulerLeaseRepository schedulerLeaseRepository;
+
+  @AfterEach
+  void cleanup() {
+    schedulerLeaseRepository.deleteAll();
+  }
+
+  private SchedulerLeaseService node(String owner, Instant now) {
+    return new SchedulerLeaseService(
+        schedulerLeaseRepository, Clock.fixed(now, ZoneOffset.UTC), owner);
+  }
+
+  @Test
+  void firstNodeAcquiresMissingLease() {
+    assertTrue(node("node-a", START).tryAcquire(LEASE, AT_MOST));
+
+    SchedulerLease lease = schedulerLeaseRepository.findById(LEASE).orElseThrow();
+    assertEquals("node-a", lease.getOwner());
+    assertEquals(START.plus(AT_MOST), lease.getLockedUntil());
+  }
+
+  @Test
+  void otherNodeCannotAcquireHeldLease() {
+    assertTrue(node("node-a", START).tryAcquire(LEASE, AT_MOST));
+
+    assertFalse(node("node-b", START.plusSeconds(60)).tryAcquire(LEASE, AT_MOST));
+    assertEquals("node-a", schedulerLeaseRepository.findById(LEASE).orElseThrow().getOwner());
+  }
+
+  @Test
+  void otherNodeTakesOverExpiredLease() {
+    assertTrue(node("node-a", START).tryAcquire(LEASE, AT_MOST));
+
+    assertTrue(node("node-b", START.plus(AT_MOST)).tryAcquire(LEASE, AT_MOST));
+    assertEquals("node-b", schedulerLeaseRepository.findById(LEASE).orElseThrow().getOwner());
+  }
+
+  @Test
+  void releaseKeepsLeaseForAtLeastDuration() {
+    SchedulerLeaseService nodeA = node("node-a", START);
+    assertTrue(nodeA.tryAcquire(LEASE, AT_MOST));
+    nodeA.release(LEASE, Duration.ofMinutes(1));
+
+    assertEquals(
+        START.plus(Duration.ofMinutes(1)),
+        schedulerLeaseRepository.findById(LEASE).orElseThrow().getLockedUntil());
+    assertFalse(node("node-b", START.plusSeconds(30)).tryAcquire(LEASE, AT_MOST));
+    assertTrue(node("node-b", START.plusSeconds(60)).tryAcquire(LEASE, AT_MOST));
+  }
+
+  @Test
+  void runExclusivelySkipsTaskWhenLeaseIsHeld() {
+    AtomicInteger runs = new AtomicInteger();
+    assertTrue(node("node-a", START).tryAcquire(LEASE, AT_MOST));
+
+    boolean ran =
+        node("node-b", START.plusSeconds(1))
+            .runExclusively(LEASE, AT_MOST, Duration.ZERO, runs::incrementAndGet);
+
+    assertFalse(ran);
+    assertEquals(0, runs.get());
+  }
+
+  @Test
+  void exactlyOneConcurrentNodeAcquiresLease() throws Exception {
+    int nodes = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(nodes);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < nodes; i++) {
+        SchedulerLeaseService service = node("node-" + i, START);
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return service.tryAcquire(LEASE, AT_MOST);
+                }));
+      }
+      start.countDown();
+      int winners = 0;
+      for (Future<Boolean> result : results) {
+        if (result.get()) {
+          winners++;
+        }
+      }
+      assertEquals(1, winners);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
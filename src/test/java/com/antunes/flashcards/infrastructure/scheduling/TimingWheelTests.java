@@ -0,0 +1,95 @@
+package com.antunes.flashcards.infrastructure.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTests {
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+  private TimingWheel<String> wheel() {
+    return new TimingWheel<>(Duration.ofSeconds(1), 4, 2, START);
+  }
+
+  @Test
+  void itemShouldExpireAtDeadlineAndNotBefore() {
+    TimingWheel<String> wheel = wheel();
+    wheel.schedule("a", START.plusSeconds(3));
+
+    assertTrue(wheel.advanceTo(START.plusSeconds(2)).isEmpty());
+    assertEquals(List.of("a"), wheel.advanceTo(START.plusSeconds(3)));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void deadlineShouldRoundUpToNextTick() {
+    TimingWheel<String> wheel = wheel();
+    wheel.schedule("a", START.plusMillis(1500));
+
+    assertTrue(wheel.advanceTo(START.plusMillis(1999)).isEmpty());
+    assertEquals(List.of("a"), wheel.advanceTo(START.plusSeconds(2)));
+  }
+
+  @Test
+  void pastDeadlineShouldExpireOnNextAdvance() {
+    TimingWheel<String> wheel = wheel();
+    wheel.advanceTo(START.plusSeconds(10));
+    wheel.schedule("a", START.plusSeconds(5));
+
+    assertEquals(1, wheel.size());
+    assertEquals(List.of("a"), wheel.advanceTo(START.plusSeconds(10)));
+  }
+
+  @Test
+  void itemsShouldCascadeFromHigherLevels() {
+    TimingWheel<String> wheel = wheel();
+    wheel.schedule("a", START.plusSeconds(9));
+
+    assertTrue(wheel.advanceTo(START.plusSeconds(8)).isEmpty());
+    assertEquals(List.of("a"), wheel.advanceTo(START.plusSeconds(9)));
+  }
+
+  @Test
+  void deadlinesBeyondTopLevelShouldWaitInOverflow() {
+    TimingWheel<String> wheel = wheel();
+    wheel.schedule("a", START.plusSeconds(40));
+
+    assertTrue(wheel.advanceTo(START.plusSeconds(39)).isEmpty());
+    assertEquals(1, wheel.size());
+    assertEquals(List.of("a"), wheel.advanceTo(START.plusSeconds(40)));
+  }
+
+  @Test
+  void randomDeadlinesShouldExpireExactlyOnTheirTick() {
+    Random random = new Random(42);
+    TimingWheel<Integer> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, 3, START);
+    int[] deadlines = new int[2000];
+    long now = 0;
+    int next = 0;
+    boolean[] expired = new boolean[deadlines.length];
+    int expiredCount = 0;
+    while (now < 4000) {
+      for (int i = 0; i < 3 && next < deadlines.length; i++, next++) {
+        deadlines[next] = (int) now + 1 + random.nextInt(1200);
+        wheel.schedule(next, START.plusSeconds(deadlines[next]));
+      }
+      now += 1 + random.nextInt(5);
+      for (int item : wheel.advanceTo(START.plusSeconds(now))) {
+        assertTrue(deadlines[item] <= now, "expired early");
+        expired[item] = true;
+        expiredCount++;
+      }
+      for (int item = 0; item < next; item++) {
+        if (deadlines[item] <= now) {
+          assertTrue(expired[item], "expired late");
+        }
+      }
+    }
+    assertEquals(deadlines.length, expiredCount);
+    assertEquals(0, wheel.size());
+  }
+}
@@ -0,0 +1,53 @@
+package com.antunes.flashcards.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class CalibratedBCryptPasswordEncoderTests {
+  private final String rawPassword = "securePassword123";
+
+  @Test
+  void calibrationShouldStayWithinBounds() {
+    CalibratedBCryptPasswordEncoder encoder =
+        CalibratedBCryptPasswordEncoder.calibrate(Duration.ofMillis(1), 4, 6);
+    assertTrue(encoder.getStrength() >= 4 && encoder.getStrength() <= 6);
+  }
+
+  @Test
+  void unreachableTarget_shouldFallBackToMinimumStrength() {
+    CalibratedBCryptPasswordEncoder encoder =
+        CalibratedBCryptPasswordEncoder.calibrate(Duration.ZERO, 5, 8);
+    assertEquals(5, encoder.getStrength());
+  }
+
+  @Test
+  void encodedPasswordShouldUseSelectedStrength() {
+    CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+    String encoded = encoder.encode(rawPassword);
+    assertEquals(5, CalibratedBCryptPasswordEncoder.costOf(encoded));
+    assertTrue(encoder.matches(rawPassword, encoded));
+    assertFalse(encoder.upgradeEncoding(encoded));
+  }
+
+  @Test
+  void weakerHash_shouldBeUpgraded() {
+    String encoded = new BCryptPasswordEncoder(4).encode(rawPassword);
+    assertTrue(new CalibratedBCryptPasswordEncoder(5).upgradeEncoding(encoded));
+  }
+
+  @Test
+  void strongerHash_shouldBeDowngraded() {
+    String encoded = new BCryptPasswordEncoder(6).encode(rawPassword);
+    assertTrue(new CalibratedBCryptPasswordEncoder(5).upgradeEncoding(encoded));
+  }
+
+  @Test
+  void nonBCryptHash_shouldNotBeUpgraded() {
+    CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+    assertFalse(encoder.upgradeEncoding("$2stub$" + rawPassword));
+    assertFalse(encoder.upgradeEncoding(null));
+  }
+}